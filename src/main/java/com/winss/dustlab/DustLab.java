@@ -43,6 +43,7 @@ public final class DustLab extends JavaPlugin {
         }
         
         com.winss.dustlab.media.MediaProcessor.shutdown();
+        com.winss.dustlab.effects.TransformBuffer.shutdown();
         
     getLogger().info("Disabled.");
     }
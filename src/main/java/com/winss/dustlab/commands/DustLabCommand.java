@@ -139,7 +139,7 @@ public class DustLabCommand implements CommandExecutor, TabCompleter {
             case "list":
                 return handleList(sender);
             case "active":
-                return handleActive(sender);
+                return handleActive(sender, args);
             case "info":
                 return handleInfo(sender, args);
             case "reload":
@@ -707,22 +707,43 @@ public class DustLabCommand implements CommandExecutor, TabCompleter {
         return true;
     }
     
-    private boolean handleActive(CommandSender sender) {
+    private boolean handleActive(CommandSender sender, String[] args) {
         if (!sender.hasPermission("dustlab.active")) {
             sender.sendMessage("§9DustLab §c» §7You don't have permission to use this command.");
             return true;
         }
         
-        Map<String, ParticleModelManager.EffectInfo> activeEffects = plugin.getParticleModelManager().getActiveEffects();
+        List<ParticleModelManager.EffectInfo> activeEffects;
+        String scope = "";
+        if (args.length > 1) {
+            if (!(sender instanceof Player)) {
+                sender.sendMessage("§9DustLab §c» §7Only players can list nearby effects.");
+                return true;
+            }
+            double radius;
+            try {
+                radius = Double.parseDouble(args[1]);
+            } catch (NumberFormatException e) {
+                sender.sendMessage("§9DustLab §c» §7Invalid radius. Use a number like: /dustlab active 32");
+                return true;
+            }
+            if (radius <= 0) {
+                sender.sendMessage("§9DustLab §c» §7Radius must be greater than 0.");
+                return true;
+            }
+            activeEffects = plugin.getParticleModelManager().getEffectsNear(((Player) sender).getLocation(), radius);
+            scope = String.format(" within %.0f blocks", radius);
+        } else {
+            activeEffects = plugin.getParticleModelManager().getActiveEffects();
+        }
         
         if (activeEffects.isEmpty()) {
-            sender.sendMessage("§9DustLab §b» §7No active particle effects.");
+            sender.sendMessage("§9DustLab §b» §7No active particle effects" + scope + ".");
             return true;
         }
         
-        sender.sendMessage("§9DustLab §b» §7Active Effects:");
-        for (Map.Entry<String, ParticleModelManager.EffectInfo> entry : activeEffects.entrySet()) {
-            ParticleModelManager.EffectInfo info = entry.getValue();
+        sender.sendMessage("§9DustLab §b» §7Active Effects" + scope + ":");
+        for (ParticleModelManager.EffectInfo info : activeEffects) {
             String duration = String.format("%.1fs", (System.currentTimeMillis() - info.startTime) / 1000.0);
             String loopText = info.isLooping ? " §b(looping)" : "";
             
@@ -786,6 +807,12 @@ public class DustLabCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage("§bParticle Count: §f" + model.getParticleCount());
             sender.sendMessage("§bDuration: §f" + model.getDuration() + " ticks");
         }
+
+        com.winss.dustlab.packed.ParticleStats stats = model.getStats();
+        sender.sendMessage("§9Size: §f" + String.format(java.util.Locale.US, "%.1f x %.1f x %.1f",
+                stats.maxX() - stats.minX(), stats.maxY() - stats.minY(), stats.maxZ() - stats.minZ()) +
+                " §7blocks §8(§7radius §f" + String.format(java.util.Locale.US, "%.1f", stats.originRadius()) + "§8)");
+        sender.sendMessage("§bColours: §f" + stats.colourCount() + " §8| §bMax Delay: §f" + stats.maxDelay() + " ticks");
         
         return true;
     }
@@ -843,10 +870,34 @@ public class DustLabCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage("§7    §8• §9Optimizer cache: §f" + formatMb(optimizerMb) + " §7MB §8(§f" + formatCount(memory.optimizerTrackedParticles()) + "§7 tracked§8)");
         sender.sendMessage("§a▸ Active Effects: §f" + formatCount(memory.activeEffectCount()) +
                 " §7(optimizer tracking §f" + formatCount(memory.optimizerTrackedEffects()) + "§7 effects)");
+        com.winss.dustlab.render.ParticleBudget budget = manager.getParticleBudget();
+        if (budget.isEnabled()) {
+            sender.sendMessage("§b▸ §7Particle Budget: §f" + formatCount(budget.getLastTickSpent()) + "§7/§f" + formatCount(budget.getLastTickAvailable()) +
+                    " §7packets last tick §8(§f" + formatCount(budget.getLastTickDenied()) + "§7 deferred§8)");
+        }
+        com.winss.dustlab.render.ViewerBudget viewerBudget = manager.getViewerBudget();
+        if (viewerBudget.isEnabled()) {
+            sender.sendMessage("§b▸ §7Viewer Caps: §f" + formatCount(viewerBudget.getLastTickDropped()) + " §7packets dropped last tick");
+        }
+        com.winss.dustlab.render.EmissionStats emission = manager.getEmissionStats();
+        sender.sendMessage("§b▸ §7Bandwidth: §f" + formatMb(emission.getLastTickBytes() / 1024.0) + " §7KB last tick §8(§f" +
+                formatMb(emission.getLastTickBytesSaved() / 1024.0) + " §7KB saved, §f" + formatMb(emission.getTotalBytesSaved() / (1024.0 * 1024.0)) + " §7MB total§8)");
+        sender.sendMessage("§b▸ §7Level of Detail: §f" + formatCount(emission.getLastTickDetailSkipped()) + " §7packets skipped for distant viewers last tick");
+        sender.sendMessage("§b▸ §7Effect Transforms: §f" + formatCount(com.winss.dustlab.effects.TransformBuffer.getPrefetchedFrames()) +
+                " §7prefetched, §f" + formatCount(com.winss.dustlab.effects.TransformBuffer.getInlineFrames()) + " §7inline §8(§f" +
+                manager.getTransformGroups().getSharingInstances() + " §7instances sharing§8)");
+        sender.sendMessage("§b▸ §7Render Loop: §f" + manager.getRenderLoop().getTaskCount() + " §7tasks, §f" +
+                manager.getDormantEffectCount() + " §7dormant §8(§f" +
+                String.format(java.util.Locale.US, "%.2f", manager.getRenderLoop().getAverageTickMillis()) + " §7ms/tick avg§8)");
 
         PerformanceMonitor monitor = plugin.getPerformanceMonitor();
         if (monitor != null) {
             PerformanceMonitor.PerformanceSnapshot snapshot = monitor.snapshot();
+            com.winss.dustlab.render.QualityLadder ladder = manager.getQualityLadder();
+            sender.sendMessage("§b▸ §7Server Tick: §f" + String.format(java.util.Locale.US, "%.2f", monitor.getAverageMspt()) + " §7ms avg §8(§7DustLab §f" +
+                    String.format(java.util.Locale.US, "%.2f", monitor.getAverageDustLabMillis()) + " §7ms§8) §7quality §f" +
+                    (ladder.isEnabled() ? ladder.getLevel().name().toLowerCase(java.util.Locale.ROOT).replace('_', ' ') : "fixed") +
+                    " §8(§f" + formatCount(ladder.getStepDowns()) + "§7 step-downs§8)");
             sender.sendMessage("§b▸ §7Process Usage:");
             sendPerformanceWindow(sender, "Last 10s", snapshot.tenSeconds());
             sendPerformanceWindow(sender, "Last 1m", snapshot.oneMinute());
@@ -1052,9 +1103,10 @@ public class DustLabCommand implements CommandExecutor, TabCompleter {
                 }
                 sender.sendMessage("§9§l❖ DustLab - Active Command ❖");
                 sender.sendMessage("");
-                sender.sendMessage("§b/dustlab active");
+                sender.sendMessage("§b/dustlab active §7[radius]");
                 sender.sendMessage("");
                 sender.sendMessage("§7Show all currently running particle effects with their IDs and details.");
+                sender.sendMessage("§7With a radius, only location effects that close to you are shown, nearest first.");
                 return true;
                 
             case "info":
@@ -1352,8 +1404,7 @@ public class DustLabCommand implements CommandExecutor, TabCompleter {
                 }
             }
         } else if (args.length == 2 && (args[0].equalsIgnoreCase("unload") || args[0].equalsIgnoreCase("move"))) {
-            Map<String, ParticleModelManager.EffectInfo> activeEffects = plugin.getParticleModelManager().getActiveEffects();
-            for (ParticleModelManager.EffectInfo info : activeEffects.values()) {
+            for (ParticleModelManager.EffectInfo info : plugin.getParticleModelManager().getActiveEffects()) {
                 String idStr = String.valueOf(info.id);
                 if (idStr.startsWith(args[1])) {
                     completions.add(idStr);
@@ -18,6 +18,37 @@ public class DustLabConfig {
     private int largeModelThreshold = 4500;
     private int veryLargeModelThreshold = 15000;
     private int particlesPerBatch = 500;
+    // Server-wide packet budget shared by all effects (packets = particles x viewers)
+    private boolean globalParticleBudgetEnabled = true;
+    private int globalParticlesPerTick = 20000;
+    private int globalParticleBudgetMaxCarryOver = 20000;
+    // Per-viewer cap summed over all effects
+    private boolean viewerBudgetEnabled = true;
+    private int viewerMaxParticlesPerTick = 1000;
+    private int viewerMaxBytesPerTick = 65536;
+    private double viewerNormalPriorityShare = 0.75;
+    private double viewerHysteresisBlocks = 4.0;
+    public enum StaticParticleType { AUTO, TRANSITION }
+    private StaticParticleType staticParticleType = StaticParticleType.AUTO;
+    private boolean asyncTransformsEnabled = true;
+    private int asyncTransformsMinParticles = 1000;
+    private boolean lodEnabled = true;
+    private double lodFullDetailDistance = 16.0;
+    private double lodHalfDetailDistance = 28.0;
+    private double lodQuarterDetailDistance = 40.0;
+    // Server-load degradation steps, by rolling MSPT
+    private boolean degradationEnabled = true;
+    private double degradationReduceFrequencyMspt = 45.0;
+    private double degradationReduceDetailMspt = 48.0;
+    private double degradationPauseLowPriorityMspt = 55.0;
+    private double degradationRecoveryMarginMspt = 5.0;
+    private int degradationRecoverySeconds = 5;
+    // Parking of location effects nobody can see
+    private boolean dormancyEnabled = true;
+    private int dormancyIdleSeconds = 2;
+    // Static re-send cadence from the client-side particle lifetime
+    private boolean lifetimeRefreshEnabled = true;
+    private boolean newViewerBurstEnabled = true;
     // Progressive loading options
     private boolean progressiveLoadingEnabled = true;
     private int progressiveLargeModelThreshold = 50000; // start progressive at > 50k particles
@@ -34,6 +65,7 @@ public class DustLabConfig {
     public enum AnimatedParticleMode { REDSTONE, TRANSITION }
     private AnimatedParticleMode animatedParticleMode = AnimatedParticleMode.REDSTONE;
     private int mediaParticleLifespanTicks = 1; 
+    private boolean mediaDeltaEmission = true;
     private int mediaMaxFrames = 150;
     private int mediaMaxFileSizeMB = 25;
     private boolean mediaDefaultGzip = false;
@@ -61,6 +93,36 @@ public class DustLabConfig {
         largeModelThreshold = config.getInt("performance.large-model-threshold", 4500);
         veryLargeModelThreshold = config.getInt("performance.very-large-model-threshold", 15000);
         particlesPerBatch = config.getInt("performance.particles-per-batch", 500);
+        globalParticleBudgetEnabled = config.getBoolean("performance.global-budget.enabled", true);
+        globalParticlesPerTick = Math.max(1, config.getInt("performance.global-budget.particles-per-tick", 20000));
+        globalParticleBudgetMaxCarryOver = Math.max(0, config.getInt("performance.global-budget.max-carry-over", 20000));
+        viewerBudgetEnabled = config.getBoolean("performance.viewer-budget.enabled", true);
+        viewerMaxParticlesPerTick = Math.max(1, config.getInt("performance.viewer-budget.max-particles-per-tick", 1000));
+        viewerMaxBytesPerTick = Math.max(1, config.getInt("performance.viewer-budget.max-bytes-per-tick", 65536));
+        viewerNormalPriorityShare = config.getDouble("performance.viewer-budget.normal-priority-share", 0.75);
+        viewerHysteresisBlocks = Math.max(0.0, config.getDouble("performance.viewer-hysteresis-blocks", 4.0));
+        try {
+            String typeStr = config.getString("performance.static-particle-type", "AUTO");
+            staticParticleType = StaticParticleType.valueOf(typeStr.toUpperCase());
+        } catch (Exception e) {
+            staticParticleType = StaticParticleType.AUTO;
+        }
+        asyncTransformsEnabled = config.getBoolean("performance.async-transforms.enabled", true);
+        asyncTransformsMinParticles = Math.max(1, config.getInt("performance.async-transforms.min-particles", 1000));
+        lodEnabled = config.getBoolean("performance.lod.enabled", true);
+        lodFullDetailDistance = Math.max(0.0, config.getDouble("performance.lod.full-detail-distance", 16.0));
+        lodHalfDetailDistance = Math.max(lodFullDetailDistance, config.getDouble("performance.lod.half-detail-distance", 28.0));
+        lodQuarterDetailDistance = Math.max(lodHalfDetailDistance, config.getDouble("performance.lod.quarter-detail-distance", 40.0));
+        degradationEnabled = config.getBoolean("performance.degradation.enabled", true);
+        degradationReduceFrequencyMspt = config.getDouble("performance.degradation.reduce-frequency-mspt", 45.0);
+        degradationReduceDetailMspt = Math.max(degradationReduceFrequencyMspt, config.getDouble("performance.degradation.reduce-detail-mspt", 48.0));
+        degradationPauseLowPriorityMspt = Math.max(degradationReduceDetailMspt, config.getDouble("performance.degradation.pause-low-priority-mspt", 55.0));
+        degradationRecoveryMarginMspt = Math.max(0.0, config.getDouble("performance.degradation.recovery-margin-mspt", 5.0));
+        degradationRecoverySeconds = Math.max(1, config.getInt("performance.degradation.recovery-seconds", 5));
+        dormancyEnabled = config.getBoolean("performance.dormancy.enabled", true);
+        dormancyIdleSeconds = Math.max(1, config.getInt("performance.dormancy.idle-seconds", 2));
+        lifetimeRefreshEnabled = config.getBoolean("performance.lifetime-refresh.enabled", true);
+        newViewerBurstEnabled = config.getBoolean("performance.lifetime-refresh.new-viewer-burst", true);
     // Progressive loading
     progressiveLoadingEnabled = config.getBoolean("progressive.enabled", true);
     progressiveLargeModelThreshold = config.getInt("progressive.large-model-threshold", 50000);
@@ -81,6 +143,7 @@ public class DustLabConfig {
             animatedParticleMode = AnimatedParticleMode.REDSTONE;
         }
         mediaParticleLifespanTicks = config.getInt("media.particle-lifespan-ticks", 1);
+        mediaDeltaEmission = config.getBoolean("media.delta-emission", true);
         // Media limits
     mediaMaxFrames = config.getInt("media.max-frames", 150);
         mediaMaxFileSizeMB = config.getInt("media.max-file-size-mb", 25);
@@ -108,6 +171,13 @@ public class DustLabConfig {
             config.set("performance.large-model-threshold", 4500);
             config.set("performance.very-large-model-threshold", 15000);
             config.set("performance.particles-per-batch", 500);
+            config.set("performance.global-budget.enabled", true);
+            config.set("performance.global-budget.particles-per-tick", 20000);
+            config.set("performance.global-budget.max-carry-over", 20000);
+            config.set("performance.viewer-budget.enabled", true);
+            config.set("performance.viewer-budget.max-particles-per-tick", 1000);
+            config.set("performance.viewer-budget.max-bytes-per-tick", 65536);
+            config.set("performance.viewer-budget.normal-priority-share", 0.75);
             // Progressive loading defaults
             config.set("progressive.enabled", true);
             config.set("progressive.large-model-threshold", 50000);
@@ -116,6 +186,24 @@ public class DustLabConfig {
             config.set("progressive.progress-log-interval-percent", 10);
             config.set("progressive.max-async-loads", 2);
             config.set("performance.max-render-distance", 48.0);
+            config.set("performance.viewer-hysteresis-blocks", 4.0);
+            config.set("performance.static-particle-type", "AUTO");
+            config.set("performance.async-transforms.enabled", true);
+            config.set("performance.async-transforms.min-particles", 1000);
+            config.set("performance.lod.enabled", true);
+            config.set("performance.lod.full-detail-distance", 16.0);
+            config.set("performance.lod.half-detail-distance", 28.0);
+            config.set("performance.lod.quarter-detail-distance", 40.0);
+            config.set("performance.degradation.enabled", true);
+            config.set("performance.degradation.reduce-frequency-mspt", 45.0);
+            config.set("performance.degradation.reduce-detail-mspt", 48.0);
+            config.set("performance.degradation.pause-low-priority-mspt", 55.0);
+            config.set("performance.degradation.recovery-margin-mspt", 5.0);
+            config.set("performance.degradation.recovery-seconds", 5);
+            config.set("performance.dormancy.enabled", true);
+            config.set("performance.dormancy.idle-seconds", 2);
+            config.set("performance.lifetime-refresh.enabled", true);
+            config.set("performance.lifetime-refresh.new-viewer-burst", true);
             
             config.set("temp-models.lifetime-minutes", 30);
             config.set("temp-models.cleanup-on-startup", true);
@@ -136,6 +224,7 @@ public class DustLabConfig {
             config.set("media.particle-scale", 1.25);
             config.set("media.animated-particle-mode", "REDSTONE");
             config.set("media.particle-lifespan-ticks", 1);
+            config.set("media.delta-emission", true);
             config.set("media.max-frames", 150);
             config.set("media.max-file-size-mb", 25);
             config.set("media.default-gzip", false);
@@ -158,6 +247,58 @@ public class DustLabConfig {
             
             // Comments
             
+            config.setComments("performance.global-budget", java.util.Arrays.asList(
+                "Server-wide particle budget split across all active effects every tick",
+                "Counted in packets (particles x viewers); effects with more and closer viewers get a larger share",
+                "particles-per-tick: Total packets all effects may send per tick (default: 20000)",
+                "max-carry-over: Unspent budget that may roll into the next tick (default: 20000)"
+            ));
+            
+            config.setComments("performance.static-particle-type", java.util.Arrays.asList(
+                "Particle type for static models: AUTO or TRANSITION (default: AUTO)",
+                "AUTO sends plain dust, which looks the same as a same-colour transition but is a smaller packet"
+            ));
+            
+            config.setComments("performance.async-transforms", java.util.Arrays.asList(
+                "Compute the next tick's effect positions (rotate, swirl, ...) of static models on worker threads",
+                "min-particles: Smaller models are cheap enough to transform on the main thread (default: 1000)"
+            ));
+            
+            config.setComments("performance.lod", java.util.Arrays.asList(
+                "Distance-based level of detail: distant players receive a clustered subset of each model",
+                "Distances are measured from the model's outer edge; beyond quarter-detail-distance about 10% is sent",
+                "full-detail-distance: Every particle within this distance (default: 16)",
+                "half-detail-distance: About 50% within this distance (default: 28)",
+                "quarter-detail-distance: About 25% within this distance (default: 40)"
+            ));
+            
+            config.setComments("performance.degradation", java.util.Arrays.asList(
+                "Step rendering quality down while the server is lagging, measured as the 1-second average MSPT",
+                "reduce-frequency-mspt: Re-send static models half as often (default: 45)",
+                "reduce-detail-mspt: Also send every viewer one level of detail lower (default: 48)",
+                "pause-low-priority-mspt: Also pause static location models; animated and player effects keep running (default: 55)",
+                "recovery-margin-mspt / recovery-seconds: MSPT must stay this far below a step's threshold this long before stepping back up (default: 5 / 5)"
+            ));
+            
+            config.setComments("performance.dormancy", java.util.Arrays.asList(
+                "Park location effects that nobody can see so they cost nothing per tick",
+                "An effect parks when its chunk is unloaded, or when no player has been near it for idle-seconds (default: 2)",
+                "It wakes when a player moves near or the chunk loads, and carries on from where its timeline would be"
+            ));
+            
+            config.setComments("performance.lifetime-refresh", java.util.Arrays.asList(
+                "Re-send standing particles of static models just before the client lets them fade, instead of every 3 ticks",
+                "The cadence follows the smallest particle scale: dust lives at least 8 ticks per unit of scale",
+                "new-viewer-burst: Players who come into range get every visible particle at once (default: true)"
+            ));
+            
+            config.setComments("performance.viewer-budget", java.util.Arrays.asList(
+                "Cap on what a single player receives per tick, summed over every effect around them",
+                "max-particles-per-tick: Particle packets per player per tick (default: 1000)",
+                "max-bytes-per-tick: Estimated packet bytes per player per tick (default: 65536)",
+                "normal-priority-share: Fraction of the cap static models may use; the rest is kept for player-attached and animated effects (default: 0.75)"
+            ));
+            
             config.setComments("safety", java.util.Arrays.asList(
                 "Safety settings for rapid flashing prevention and performance protection (you do not want to know why it was named like that)",
                 "enable-anti-epilepsy: Enables fade-in effects and limits rapid flashing (default: true)",
@@ -191,7 +332,8 @@ public class DustLabConfig {
             
             config.setComments("media", java.util.Arrays.asList(
                 "Media processing settings",
-                "particle-scale: Scale factor for particles when creating models from images/GIFs (default: 1.25)"
+                "particle-scale: Scale factor for particles when creating models from images/GIFs (default: 1.25)",
+                "delta-emission: On a frame switch send only the particles that changed; the rest are refreshed before they fade (default: true)"
             ));
             
             config.setComments("messages", java.util.Arrays.asList(
@@ -232,7 +374,32 @@ public class DustLabConfig {
     public int getLargeModelThreshold() { return largeModelThreshold; }
     public int getVeryLargeModelThreshold() { return veryLargeModelThreshold; }
     public int getParticlesPerBatch() { return particlesPerBatch; }
+    public boolean isGlobalParticleBudgetEnabled() { return globalParticleBudgetEnabled; }
+    public int getGlobalParticlesPerTick() { return globalParticlesPerTick; }
+    public int getGlobalParticleBudgetMaxCarryOver() { return globalParticleBudgetMaxCarryOver; }
+    public boolean isViewerBudgetEnabled() { return viewerBudgetEnabled; }
+    public int getViewerMaxParticlesPerTick() { return viewerMaxParticlesPerTick; }
+    public int getViewerMaxBytesPerTick() { return viewerMaxBytesPerTick; }
+    public double getViewerNormalPriorityShare() { return viewerNormalPriorityShare; }
     public double getMaxRenderDistance() { return maxRenderDistance; }
+    public double getViewerHysteresisBlocks() { return viewerHysteresisBlocks; }
+    public StaticParticleType getStaticParticleType() { return staticParticleType; }
+    public boolean isAsyncTransformsEnabled() { return asyncTransformsEnabled; }
+    public int getAsyncTransformsMinParticles() { return asyncTransformsMinParticles; }
+    public boolean isLodEnabled() { return lodEnabled; }
+    public double getLodFullDetailDistance() { return lodFullDetailDistance; }
+    public double getLodHalfDetailDistance() { return lodHalfDetailDistance; }
+    public double getLodQuarterDetailDistance() { return lodQuarterDetailDistance; }
+    public boolean isDegradationEnabled() { return degradationEnabled; }
+    public double getDegradationReduceFrequencyMspt() { return degradationReduceFrequencyMspt; }
+    public double getDegradationReduceDetailMspt() { return degradationReduceDetailMspt; }
+    public double getDegradationPauseLowPriorityMspt() { return degradationPauseLowPriorityMspt; }
+    public double getDegradationRecoveryMarginMspt() { return degradationRecoveryMarginMspt; }
+    public int getDegradationRecoverySeconds() { return degradationRecoverySeconds; }
+    public boolean isDormancyEnabled() { return dormancyEnabled; }
+    public int getDormancyIdleSeconds() { return dormancyIdleSeconds; }
+    public boolean isLifetimeRefreshEnabled() { return lifetimeRefreshEnabled; }
+    public boolean isNewViewerBurstEnabled() { return newViewerBurstEnabled; }
     // Progressive getters
     public boolean isProgressiveLoadingEnabled() { return progressiveLoadingEnabled; }
     public int getProgressiveLargeModelThreshold() { return progressiveLargeModelThreshold; }
@@ -247,6 +414,7 @@ public class DustLabConfig {
     public float getMediaParticleScale() { return mediaParticleScale; }
     public AnimatedParticleMode getAnimatedParticleMode() { return animatedParticleMode; }
     public int getMediaParticleLifespanTicks() { return mediaParticleLifespanTicks; }
+    public boolean isMediaDeltaEmissionEnabled() { return mediaDeltaEmission; }
     public int getMediaMaxFrames() { return mediaMaxFrames; }
     public int getMediaMaxFileSizeMB() { return mediaMaxFileSizeMB; }
     public long getMediaMaxFileSizeBytes() { return (long) mediaMaxFileSizeMB * 1024L * 1024L; }
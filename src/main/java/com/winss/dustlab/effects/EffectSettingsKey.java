@@ -0,0 +1,50 @@
+package com.winss.dustlab.effects;
+
+/**
+ * The {@link ParticleEffects.EffectSettings} fields that shape an effect's motion, compared by value.
+ * Every placement gets its own settings object, so instances that should share computed state
+ * (trajectory tables, transform buffers) are matched on this key instead of on identity.
+ */
+public record EffectSettingsKey(double rotationSpeed, boolean rotateX, boolean rotateY, boolean rotateZ,
+                               double oscillationSpeed, double oscillationAmplitude,
+                               double pulseSpeed, double pulseAmplitude,
+                               double bounceSpeed, double bounceHeight,
+                               double flowSpeed, double flowAmplitude,
+                               double swirlSpeed, double swirlRadius,
+                               double waveSpeed, double waveAmplitude,
+                               double orbitSpeed, double orbitRadius,
+                               double spiralSpeed, double spiralExpansion) {
+
+    public static EffectSettingsKey of(ParticleEffects.EffectSettings s) {
+        return new EffectSettingsKey(s.rotationSpeed, s.rotateX, s.rotateY, s.rotateZ,
+            s.oscillationSpeed, s.oscillationAmplitude, s.pulseSpeed, s.pulseAmplitude,
+            s.bounceSpeed, s.bounceHeight, s.flowSpeed, s.flowAmplitude,
+            s.swirlSpeed, s.swirlRadius, s.waveSpeed, s.waveAmplitude,
+            s.orbitSpeed, s.orbitRadius, s.spiralSpeed, s.spiralExpansion);
+    }
+
+    public ParticleEffects.EffectSettings toSettings() {
+        ParticleEffects.EffectSettings s = new ParticleEffects.EffectSettings();
+        s.rotationSpeed = rotationSpeed;
+        s.rotateX = rotateX;
+        s.rotateY = rotateY;
+        s.rotateZ = rotateZ;
+        s.oscillationSpeed = oscillationSpeed;
+        s.oscillationAmplitude = oscillationAmplitude;
+        s.pulseSpeed = pulseSpeed;
+        s.pulseAmplitude = pulseAmplitude;
+        s.bounceSpeed = bounceSpeed;
+        s.bounceHeight = bounceHeight;
+        s.flowSpeed = flowSpeed;
+        s.flowAmplitude = flowAmplitude;
+        s.swirlSpeed = swirlSpeed;
+        s.swirlRadius = swirlRadius;
+        s.waveSpeed = waveSpeed;
+        s.waveAmplitude = waveAmplitude;
+        s.orbitSpeed = orbitSpeed;
+        s.orbitRadius = orbitRadius;
+        s.spiralSpeed = spiralSpeed;
+        s.spiralExpansion = spiralExpansion;
+        return s;
+    }
+}
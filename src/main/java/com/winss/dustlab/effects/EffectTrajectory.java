@@ -0,0 +1,134 @@
+package com.winss.dustlab.effects;
+
+import com.winss.dustlab.packed.PackedParticleArray;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One full cycle of a periodic effect combination, precomputed. Every stage is driven by
+ * {@code tick * speed} through sin/cos, so a combination repeats once every stage has turned a whole
+ * number of times. The shortest such period (within {@link #PHASE_TOLERANCE}) is found once, the compiled
+ * {@link EffectTransform} of each tick in the cycle is stored, and playback becomes a table lookup.
+ * Small models additionally get their per-particle offsets cached per phase as they are first played.
+ * <p>
+ * Tables are shared by every instance with equal settings. Playback is exactly periodic: the seam at the
+ * end of a cycle is off by at most {@link #PHASE_TOLERANCE} radians per stage, which is not visible.
+ * Swirl turns each particle at a rate that depends on its distance, so combinations with it are not cached.
+ */
+public final class EffectTrajectory {
+
+    // Longest cycle worth tabulating (two minutes)
+    private static final int MAX_PERIOD_TICKS = 2400;
+    private static final double PHASE_TOLERANCE = 2.0E-3;
+    private static final double TWO_PI = Math.PI * 2.0;
+    // Per-particle offset tables are kept for a model only while period * particles stays under this
+    private static final long MAX_OFFSET_TABLE_BYTES = 1024L * 1024L;
+    private static final int MAX_CACHED_TRAJECTORIES = 256;
+
+    private static final EffectTrajectory APERIODIC = new EffectTrajectory(0, null);
+    private static final Map<EffectSettingsKey, EffectTrajectory> CACHE = new ConcurrentHashMap<>();
+
+    private final int period;
+    private final EffectTransform[] transforms;
+    private final Map<PackedParticleArray, TransformBuffer.Frame[]> offsetTables = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private EffectTrajectory(int period, EffectTransform[] transforms) {
+        this.period = period;
+        this.transforms = transforms;
+    }
+
+    /**
+     * Shared cycle for these settings, or null when they have no period short enough to tabulate.
+     */
+    public static EffectTrajectory of(ParticleEffects.EffectSettings settings) {
+        if (settings == null || !settings.hasEffects()) {
+            return null;
+        }
+        EffectSettingsKey key = EffectSettingsKey.of(settings);
+        EffectTrajectory trajectory = CACHE.get(key);
+        if (trajectory == null) {
+            if (CACHE.size() >= MAX_CACHED_TRAJECTORIES) {
+                CACHE.clear();
+            }
+            trajectory = CACHE.computeIfAbsent(key, k -> build(k, settings));
+        }
+        return trajectory == APERIODIC ? null : trajectory;
+    }
+
+    private static EffectTrajectory build(EffectSettingsKey key, ParticleEffects.EffectSettings settings) {
+        int period = detectPeriod(settings);
+        if (period <= 0) {
+            return APERIODIC;
+        }
+        // Compile against a private copy so later edits to the caller's settings cannot leak into the shared table
+        ParticleEffects.EffectSettings snapshot = key.toSettings();
+        EffectTransform[] transforms = new EffectTransform[period];
+        for (int phase = 0; phase < period; phase++) {
+            transforms[phase] = EffectTransform.compile(snapshot, phase);
+        }
+        return new EffectTrajectory(period, transforms);
+    }
+
+    /**
+     * Smallest tick count after which every active stage is back at its starting phase, or -1.
+     */
+    static int detectPeriod(ParticleEffects.EffectSettings settings) {
+        if (settings.swirlRadius > 0.0) {
+            return -1;
+        }
+        double[] frequencies = new double[8];
+        int count = 0;
+        if (settings.rotationSpeed != 0.0) frequencies[count++] = settings.rotationSpeed;
+        if (settings.oscillationAmplitude > 0.0) frequencies[count++] = settings.oscillationSpeed;
+        if (settings.pulseAmplitude > 0.0) frequencies[count++] = settings.pulseSpeed * 2.0;
+        if (settings.bounceHeight > 0.0) frequencies[count++] = settings.bounceSpeed;
+        if (settings.flowAmplitude > 0.0) frequencies[count++] = settings.flowSpeed;
+        if (settings.waveAmplitude > 0.0) frequencies[count++] = settings.waveSpeed;
+        if (settings.orbitRadius > 0.0) frequencies[count++] = settings.orbitSpeed;
+        if (settings.spiralExpansion != 0.0) frequencies[count++] = settings.spiralSpeed;
+
+        for (int period = 1; period <= MAX_PERIOD_TICKS; period++) {
+            boolean closes = true;
+            for (int i = 0; i < count && closes; i++) {
+                double turns = Math.abs(period * frequencies[i]) / TWO_PI;
+                closes = Math.abs(turns - Math.rint(turns)) * TWO_PI <= PHASE_TOLERANCE;
+            }
+            if (closes) {
+                return period;
+            }
+        }
+        return -1;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public EffectTransform transformAt(long tick) {
+        return transforms[(int) Math.floorMod(tick, (long) period)];
+    }
+
+    /**
+     * Cached offsets of every particle of a small model at {@code tick}'s phase, filled on first use;
+     * null when the model is too large for a per-particle table. Main-thread only.
+     */
+    public TransformBuffer.Frame offsetsAt(PackedParticleArray particles, long tick) {
+        int size = particles.size();
+        if ((long) period * size * Float.BYTES * 3L > MAX_OFFSET_TABLE_BYTES) {
+            return null;
+        }
+        TransformBuffer.Frame[] table = offsetTables.computeIfAbsent(particles, p -> new TransformBuffer.Frame[period]);
+        int phase = (int) Math.floorMod(tick, (long) period);
+        TransformBuffer.Frame frame = table[phase];
+        if (frame == null) {
+            frame = new TransformBuffer.Frame(size);
+            transforms[phase].apply(particles.getXColumn(), particles.getYColumn(), particles.getZColumn(), size, frame.x, frame.y, frame.z);
+            frame.tick = phase;
+            table[phase] = frame;
+        }
+        return frame;
+    }
+}
@@ -0,0 +1,194 @@
+package com.winss.dustlab.effects;
+
+/**
+ * One tick of an {@link ParticleEffects.EffectSettings} chain, compiled. For a fixed tick, rotation, oscillation,
+ * pulse, bounce, flow and orbit are all affine, so consecutive affine stages are folded into a single 3x4 matrix
+ * (the top rows of a 4x4 homogeneous transform). Only swirl, wave and spiral depend on each particle's position
+ * in a non-linear way and are still evaluated per particle; without them the whole chain is one matrix multiply.
+ * <p>
+ * Stage order matches {@link ParticleEffects#applyEffects(double, double, double, ParticleEffects.EffectSettings, long, double[])}:
+ * rotation, oscillation, pulse, bounce, flow, swirl, wave, orbit, spiral. Orbit is folded into the matrix when no
+ * swirl or wave runs before it, otherwise it stays a translation after them.
+ * <p>
+ * Not modified after {@link #compile}, so a published instance may be read from any thread.
+ */
+public final class EffectTransform {
+
+    // Row-major 3x4 affine applied first: x' = m[0]x + m[1]y + m[2]z + m[3], and so on
+    private final double[] m = {
+        1.0, 0.0, 0.0, 0.0,
+        0.0, 1.0, 0.0, 0.0,
+        0.0, 0.0, 1.0, 0.0
+    };
+
+    private boolean swirl;
+    private double swirlPhase;
+    private double swirlRadius;
+    private boolean wave;
+    private double wavePhase;
+    private double waveAmplitude;
+    private double orbitX;
+    private double orbitZ;
+    private boolean spiral;
+    private double spiralPhase;
+    private double spiralExpansion;
+
+    private EffectTransform() {
+    }
+
+    public static EffectTransform compile(ParticleEffects.EffectSettings settings, long tickTime) {
+        EffectTransform transform = new EffectTransform();
+        if (settings == null || !settings.hasEffects()) {
+            return transform;
+        }
+
+        if (settings.rotationSpeed != 0.0) {
+            double rotationAngle = (tickTime * settings.rotationSpeed) % (Math.PI * 2.0);
+            double cos = Math.cos(rotationAngle);
+            double sin = Math.sin(rotationAngle);
+            if (settings.rotateX) {
+                transform.rotate(1, 2, cos, sin);
+            }
+            if (settings.rotateY) {
+                transform.rotate(0, 2, cos, sin);
+            }
+            if (settings.rotateZ) {
+                transform.rotate(0, 1, cos, sin);
+            }
+        }
+
+        if (settings.oscillationAmplitude > 0.0) {
+            transform.scale(1.0 + Math.sin(tickTime * settings.oscillationSpeed) * settings.oscillationAmplitude);
+        }
+
+        if (settings.pulseAmplitude > 0.0) {
+            transform.scale(1.0 + Math.sin(tickTime * settings.pulseSpeed * 2.0) * settings.pulseAmplitude);
+        }
+
+        if (settings.bounceHeight > 0.0) {
+            transform.m[7] += Math.abs(Math.sin(tickTime * settings.bounceSpeed)) * settings.bounceHeight;
+        }
+
+        if (settings.flowAmplitude > 0.0) {
+            transform.m[3] += Math.sin(tickTime * settings.flowSpeed) * settings.flowAmplitude;
+        }
+
+        if (settings.swirlRadius > 0.0) {
+            transform.swirl = true;
+            transform.swirlPhase = tickTime * settings.swirlSpeed;
+            transform.swirlRadius = settings.swirlRadius;
+        }
+
+        if (settings.waveAmplitude > 0.0) {
+            transform.wave = true;
+            transform.wavePhase = tickTime * settings.waveSpeed;
+            transform.waveAmplitude = settings.waveAmplitude;
+        }
+
+        if (settings.orbitRadius > 0.0) {
+            double orbitAngle = tickTime * settings.orbitSpeed;
+            double dx = Math.cos(orbitAngle) * settings.orbitRadius;
+            double dz = Math.sin(orbitAngle) * settings.orbitRadius;
+            if (transform.swirl || transform.wave) {
+                transform.orbitX = dx;
+                transform.orbitZ = dz;
+            } else {
+                transform.m[3] += dx;
+                transform.m[11] += dz;
+            }
+        }
+
+        if (settings.spiralExpansion != 0.0) {
+            transform.spiral = true;
+            transform.spiralPhase = tickTime * settings.spiralSpeed;
+            transform.spiralExpansion = settings.spiralExpansion;
+        }
+        return transform;
+    }
+
+    /**
+     * True when the whole chain is the matrix, i.e. no swirl, wave or spiral stage is active.
+     */
+    public boolean isAffine() {
+        return !swirl && !wave && !spiral;
+    }
+
+    /**
+     * Writes the effected offset of model-space point (x, y, z) into {@code out[0..2]}.
+     */
+    public void apply(double x, double y, double z, double[] out) {
+        double[] a = m;
+        double nx = a[0] * x + a[1] * y + a[2] * z + a[3];
+        double ny = a[4] * x + a[5] * y + a[6] * z + a[7];
+        double nz = a[8] * x + a[9] * y + a[10] * z + a[11];
+        if (!isAffine()) {
+            if (swirl) {
+                double distance = Math.sqrt(nx * nx + nz * nz);
+                double effectiveDistance = distance > 0.0 ? distance : swirlRadius;
+                double angle = Math.atan2(nz, nx) + swirlPhase * effectiveDistance;
+                nx = Math.cos(angle) * effectiveDistance;
+                nz = Math.sin(angle) * effectiveDistance;
+            }
+            if (wave) {
+                ny += Math.sin(wavePhase + Math.sqrt(nx * nx + nz * nz) * 0.5) * waveAmplitude;
+            }
+            nx += orbitX;
+            nz += orbitZ;
+            if (spiral) {
+                double angle = Math.atan2(nz, nx) + spiralPhase;
+                double newDistance = Math.sqrt(nx * nx + nz * nz) + spiralExpansion;
+                nx = Math.cos(angle) * newDistance;
+                nz = Math.sin(angle) * newDistance;
+            }
+        }
+        out[0] = nx;
+        out[1] = ny;
+        out[2] = nz;
+    }
+
+    /**
+     * Column form of {@link #apply(double, double, double, double[])} for the first {@code size} points.
+     * The purely affine case is a single branch-free loop.
+     */
+    public void apply(float[] inX, float[] inY, float[] inZ, int size, float[] outX, float[] outY, float[] outZ) {
+        double m00 = m[0], m01 = m[1], m02 = m[2], m03 = m[3];
+        double m10 = m[4], m11 = m[5], m12 = m[6], m13 = m[7];
+        double m20 = m[8], m21 = m[9], m22 = m[10], m23 = m[11];
+        if (isAffine()) {
+            for (int i = 0; i < size; i++) {
+                double x = inX[i];
+                double y = inY[i];
+                double z = inZ[i];
+                outX[i] = (float) (m00 * x + m01 * y + m02 * z + m03);
+                outY[i] = (float) (m10 * x + m11 * y + m12 * z + m13);
+                outZ[i] = (float) (m20 * x + m21 * y + m22 * z + m23);
+            }
+            return;
+        }
+        double[] out = new double[3];
+        for (int i = 0; i < size; i++) {
+            apply(inX[i], inY[i], inZ[i], out);
+            outX[i] = (float) out[0];
+            outY[i] = (float) out[1];
+            outZ[i] = (float) out[2];
+        }
+    }
+
+    // Rotation in the (a, b) plane applied after the current transform: row a -> a cos - b sin, row b -> a sin + b cos
+    private void rotate(int a, int b, double cos, double sin) {
+        int ra = a * 4;
+        int rb = b * 4;
+        for (int c = 0; c < 4; c++) {
+            double va = m[ra + c];
+            double vb = m[rb + c];
+            m[ra + c] = va * cos - vb * sin;
+            m[rb + c] = va * sin + vb * cos;
+        }
+    }
+
+    private void scale(double factor) {
+        for (int i = 0; i < m.length; i++) {
+            m[i] *= factor;
+        }
+    }
+}
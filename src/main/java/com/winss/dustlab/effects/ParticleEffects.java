@@ -1,8 +1,8 @@
 package com.winss.dustlab.effects;
 
 import com.winss.dustlab.models.ParticleData;
+import com.winss.dustlab.packed.PackedParticleArray;
 import org.bukkit.Location;
-import org.bukkit.util.Vector;
 
 public final class ParticleEffects {
 
@@ -11,147 +11,127 @@ public final class ParticleEffects {
 
     public static Location applyEffects(ParticleData particle, Location baseLocation, EffectSettings settings, long tickTime) {
         Location origin = baseLocation.clone();
-        Vector offset = new Vector(particle.getX(), particle.getY(), particle.getZ());
 
         if (settings == null || !settings.hasEffects()) {
-            return origin.add(offset);
+            return origin.add(particle.getX(), particle.getY(), particle.getZ());
+        }
+
+        double[] offset = new double[3];
+        applyEffects(particle.getX(), particle.getY(), particle.getZ(), settings, tickTime, offset);
+        return origin.add(offset[0], offset[1], offset[2]);
+    }
+
+    /**
+     * Allocation-free form of {@link #applyEffects(ParticleData, Location, EffectSettings, long)}: writes the
+     * effected offset of model-space point (x, y, z) from the base location into {@code out[0..2]}.
+     * Safe to call from any thread as long as {@code settings} is not being modified.
+     */
+    public static void applyEffects(double x, double y, double z, EffectSettings settings, long tickTime, double[] out) {
+        if (settings == null || !settings.hasEffects()) {
+            out[0] = x;
+            out[1] = y;
+            out[2] = z;
+            return;
         }
 
         if (settings.rotationSpeed != 0.0) {
             double rotationAngle = (tickTime * settings.rotationSpeed) % (Math.PI * 2.0);
-            applyRotation(offset, rotationAngle, settings.rotateX, settings.rotateY, settings.rotateZ);
+            double cos = Math.cos(rotationAngle);
+            double sin = Math.sin(rotationAngle);
+
+            if (settings.rotateX) {
+                double newY = y * cos - z * sin;
+                double newZ = y * sin + z * cos;
+                y = newY;
+                z = newZ;
+            }
+
+            if (settings.rotateY) {
+                double newX = x * cos - z * sin;
+                double newZ = x * sin + z * cos;
+                x = newX;
+                z = newZ;
+            }
+
+            if (settings.rotateZ) {
+                double newX = x * cos - y * sin;
+                double newY = x * sin + y * cos;
+                x = newX;
+                y = newY;
+            }
         }
 
         if (settings.oscillationAmplitude > 0.0) {
             double oscillationPhase = tickTime * settings.oscillationSpeed;
-            applyOscillation(offset, oscillationPhase, settings.oscillationAmplitude);
+            double scale = 1.0 + Math.sin(oscillationPhase) * settings.oscillationAmplitude;
+            x *= scale;
+            y *= scale;
+            z *= scale;
         }
 
         if (settings.pulseAmplitude > 0.0) {
             double pulsePhase = tickTime * settings.pulseSpeed;
-            applyPulse(offset, pulsePhase, settings.pulseAmplitude);
+            double scale = 1.0 + Math.sin(pulsePhase * 2.0) * settings.pulseAmplitude;
+            x *= scale;
+            y *= scale;
+            z *= scale;
         }
 
         if (settings.bounceHeight > 0.0) {
             double bouncePhase = tickTime * settings.bounceSpeed;
-            applyBounce(offset, bouncePhase, settings.bounceHeight);
+            y += Math.abs(Math.sin(bouncePhase)) * settings.bounceHeight;
         }
 
         if (settings.flowAmplitude > 0.0) {
             double flowPhase = tickTime * settings.flowSpeed;
-            applyFlow(offset, flowPhase, settings.flowAmplitude);
+            x += Math.sin(flowPhase) * settings.flowAmplitude;
         }
 
         if (settings.swirlRadius > 0.0) {
             double swirlPhase = tickTime * settings.swirlSpeed;
-            applySwirl(offset, swirlPhase, settings.swirlRadius);
+            double distance = Math.sqrt(x * x + z * z);
+            double effectiveDistance = distance > 0.0 ? distance : settings.swirlRadius;
+            double angle = Math.atan2(z, x) + swirlPhase * effectiveDistance;
+            x = Math.cos(angle) * effectiveDistance;
+            z = Math.sin(angle) * effectiveDistance;
         }
 
         if (settings.waveAmplitude > 0.0) {
             double wavePhase = tickTime * settings.waveSpeed;
-            applyWave(offset, wavePhase, settings.waveAmplitude);
+            double distance = Math.sqrt(x * x + z * z);
+            y += Math.sin(wavePhase + distance * 0.5) * settings.waveAmplitude;
         }
 
         if (settings.orbitRadius > 0.0) {
             double orbitAngle = tickTime * settings.orbitSpeed;
-            applyOrbit(offset, orbitAngle, settings.orbitRadius);
+            x += Math.cos(orbitAngle) * settings.orbitRadius;
+            z += Math.sin(orbitAngle) * settings.orbitRadius;
         }
 
         if (settings.spiralExpansion != 0.0) {
             double spiralPhase = tickTime * settings.spiralSpeed;
-            applySpiral(offset, spiralPhase, settings.spiralExpansion);
-        }
-
-        return origin.add(offset);
-    }
-
-    private static void applyRotation(Vector vector, double angle, boolean rotateX, boolean rotateY, boolean rotateZ) {
-        double x = vector.getX();
-        double y = vector.getY();
-        double z = vector.getZ();
-
-        if (rotateX) {
-            double cosX = Math.cos(angle);
-            double sinX = Math.sin(angle);
-            double newY = y * cosX - z * sinX;
-            double newZ = y * sinX + z * cosX;
-            y = newY;
-            z = newZ;
-        }
-
-        if (rotateY) {
-            double cosY = Math.cos(angle);
-            double sinY = Math.sin(angle);
-            double newX = x * cosY - z * sinY;
-            double newZ = x * sinY + z * cosY;
-            x = newX;
-            z = newZ;
+            double distance = Math.sqrt(x * x + z * z);
+            double angle = Math.atan2(z, x) + spiralPhase;
+            double newDistance = distance + settings.spiralExpansion;
+            x = Math.cos(angle) * newDistance;
+            z = Math.sin(angle) * newDistance;
         }
 
-        if (rotateZ) {
-            double cosZ = Math.cos(angle);
-            double sinZ = Math.sin(angle);
-            double newX = x * cosZ - y * sinZ;
-            double newY = x * sinZ + y * cosZ;
-            x = newX;
-            y = newY;
-        }
-
-        vector.setX(x);
-        vector.setY(y);
-        vector.setZ(z);
-    }
-
-    private static void applyOscillation(Vector vector, double phase, double amplitude) {
-        double scale = 1.0 + Math.sin(phase) * amplitude;
-        vector.multiply(scale);
-    }
-
-    private static void applyPulse(Vector vector, double phase, double amplitude) {
-        double scale = 1.0 + Math.sin(phase * 2.0) * amplitude;
-        vector.multiply(scale);
-    }
-
-    private static void applyBounce(Vector vector, double phase, double height) {
-        double offset = Math.abs(Math.sin(phase)) * height;
-        vector.setY(vector.getY() + offset);
-    }
-
-    private static void applyFlow(Vector vector, double phase, double amplitude) {
-        double offset = Math.sin(phase) * amplitude;
-        vector.setX(vector.getX() + offset);
-    }
-
-    private static void applySwirl(Vector vector, double phase, double radius) {
-        double distance = Math.sqrt(vector.getX() * vector.getX() + vector.getZ() * vector.getZ());
-        double effectiveDistance = distance > 0.0 ? distance : radius;
-        double angle = Math.atan2(vector.getZ(), vector.getX()) + phase * effectiveDistance;
-        double newX = Math.cos(angle) * effectiveDistance;
-        double newZ = Math.sin(angle) * effectiveDistance;
-        vector.setX(newX);
-        vector.setZ(newZ);
-    }
-
-    private static void applyWave(Vector vector, double phase, double amplitude) {
-        double distance = Math.sqrt(vector.getX() * vector.getX() + vector.getZ() * vector.getZ());
-        double waveOffset = Math.sin(phase + distance * 0.5) * amplitude;
-        vector.setY(vector.getY() + waveOffset);
-    }
-
-    private static void applyOrbit(Vector vector, double angle, double radius) {
-        double orbitX = Math.cos(angle) * radius;
-        double orbitZ = Math.sin(angle) * radius;
-        vector.add(new Vector(orbitX, 0.0, orbitZ));
+        out[0] = x;
+        out[1] = y;
+        out[2] = z;
     }
 
-    private static void applySpiral(Vector vector, double phase, double expansion) {
-        double distance = Math.sqrt(vector.getX() * vector.getX() + vector.getZ() * vector.getZ());
-        double angle = Math.atan2(vector.getZ(), vector.getX()) + phase;
-        double newDistance = distance + expansion;
-        double newX = Math.cos(angle) * newDistance;
-        double newZ = Math.sin(angle) * newDistance;
-        vector.setX(newX);
-        vector.setZ(newZ);
+    /**
+     * Batch form of {@link #applyEffects(double, double, double, EffectSettings, long, double[])} over the position
+     * columns of a packed model: writes the effected offset of every particle for {@code tickTime} into
+     * {@code outX/outY/outZ}. The chain is compiled once per call into an {@link EffectTransform}, so per-tick terms
+     * are hoisted and the affine stages cost one matrix multiply per particle, without per-particle allocation.
+     */
+    public static void applyEffects(PackedParticleArray particles, EffectSettings settings, long tickTime,
+                                    float[] outX, float[] outY, float[] outZ) {
+        EffectTransform.compile(settings, tickTime).apply(particles.getXColumn(), particles.getYColumn(), particles.getZColumn(),
+            particles.size(), outX, outY, outZ);
     }
 
     public static class EffectSettings {
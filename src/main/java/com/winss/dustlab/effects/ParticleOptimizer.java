@@ -1,153 +1,167 @@
 package com.winss.dustlab.effects;
 
-import com.winss.dustlab.models.ParticleData;
-import org.bukkit.Color;
-
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-
+/**
+ * Remembers what each effect last sent per particle index so unchanged particles can be skipped.
+ * State is a handful of primitive arrays per effect (packed RGB, a quantised position and the tick it was last sent),
+ * about 12 bytes per particle, and lookups go through an {@link EffectTracker} fetched once per render pass,
+ * so the per-particle check does not allocate.
+ * <p>
+ * A particle is sent again when its colour moved past {@link #COLOR_DIFF_THRESHOLD}, when it moved by a centimetre
+ * or more, or when {@code refreshTicks} have passed since it was last sent (the client lets dust fade on its own).
+ */
 public class ParticleOptimizer {
-    
+
+    // Normalised RGB distance (0..1) above which a colour counts as changed
     private static final double COLOR_DIFF_THRESHOLD = 0.02;
-    // Animation color diff threshold - may be used in future optimizations
-    @SuppressWarnings("unused") 
-    private static final double ANIMATION_COLOR_DIFF_THRESHOLD = 0.01; 
-    
-    private final Map<String, Map<String, ParticleState>> particleStates = new ConcurrentHashMap<>();
-    
-
-    private static class ParticleState {
-        private Color lastColor;
-        private long lastUpdateTick;
-        private boolean needsUpdate;
-        
-        public ParticleState(Color color, long tick) {
-            this.lastColor = color;
-            this.lastUpdateTick = tick;
-            this.needsUpdate = true; 
-        }
-        
-        public boolean shouldUpdate(Color newColor, long currentTick, ParticleOptimizer optimizer) {
-            if (needsUpdate) {
-                needsUpdate = false;
-                return true;
-            }
-            
-            if (lastColor == null && newColor != null) {
-                return true;
+    // Same threshold as a squared distance over 0..255 channels: (0.02 * 255)^2 * 3
+    private static final int COLOR_DIFF_SQUARED = (int) (COLOR_DIFF_THRESHOLD * 255.0 * COLOR_DIFF_THRESHOLD * 255.0 * 3.0);
+    private static final int NEVER = Integer.MIN_VALUE;
+    private static final long BYTES_PER_PARTICLE = 3L * Integer.BYTES;
+
+    private final Map<String, EffectTracker> trackers = new ConcurrentHashMap<>();
+
+    /**
+     * Per-effect state, indexed by particle index. Main-thread only apart from the idle timestamp.
+     */
+    public static final class EffectTracker {
+        private int[] rgb = new int[0];
+        private int[] cell = new int[0];
+        private int[] lastUpdateTick = new int[0];
+        private int tracked = 0;
+        private volatile long lastUsedMillis = System.currentTimeMillis();
+
+        private void ensureCapacity(int size) {
+            if (size <= lastUpdateTick.length) {
+                return;
             }
-            
-            if (lastColor != null && newColor == null) {
+            int old = lastUpdateTick.length;
+            rgb = Arrays.copyOf(rgb, size);
+            cell = Arrays.copyOf(cell, size);
+            lastUpdateTick = Arrays.copyOf(lastUpdateTick, size);
+            Arrays.fill(lastUpdateTick, old, size, NEVER);
+        }
+
+        /**
+         * True if particle {@code index} should be sent at {@code tick}. Records nothing: call {@link #markSent}
+         * once the packet actually went out, so a particle the budget dropped is retried next tick.
+         * {@code packedRgb} comes from {@link #packRgb}; x, y and z are the world position it would be sent at.
+         */
+        public boolean shouldUpdate(int index, int packedRgb, double x, double y, double z, long tick, int refreshTicks) {
+            int last = lastUpdateTick[index];
+            if (last == NEVER) {
                 return true;
             }
-            
-            if (lastColor == null && newColor == null) {
-                return false;
-            }
-            
-            double colorDiff = optimizer.calculateColorDifference(lastColor, newColor);
-            return colorDiff > COLOR_DIFF_THRESHOLD;
+            return (int) tick - last >= refreshTicks || cell[index] != quantisedPosition(x, y, z)
+                || colourChanged(rgb[index], packedRgb);
         }
-        
-        public void update(Color newColor, long currentTick) {
-            this.lastColor = newColor;
-            this.lastUpdateTick = currentTick;
+
+        /**
+         * Records particle {@code index} as sent at {@code tick} with this colour and position. A first send is
+         * back-dated by {@code index % refreshTicks}, so particles that all appeared together come due for their
+         * refresh on different ticks instead of as one full burst every {@code refreshTicks}.
+         */
+        public void markSent(int index, int packedRgb, double x, double y, double z, long tick, int refreshTicks) {
+            int now = (int) tick;
+            if (lastUpdateTick[index] == NEVER) {
+                tracked++;
+                now -= index % Math.max(1, refreshTicks);
+            }
+            rgb[index] = packedRgb;
+            cell[index] = quantisedPosition(x, y, z);
+            lastUpdateTick[index] = now;
         }
-        
-        public long getLastUpdateTick() {
-            return lastUpdateTick;
+
+        private void forceUpdate() {
+            Arrays.fill(lastUpdateTick, NEVER);
+            tracked = 0;
         }
-    }
-    
-
-    public boolean shouldUpdateParticle(String effectId, ParticleData particle, long currentTick) {
-        String positionKey = getPositionKey(particle);
-        
-        Map<String, ParticleState> effectStates = particleStates.computeIfAbsent(effectId, k -> new ConcurrentHashMap<>());
-        
-        Color particleColor = getParticleColor(particle);
-        ParticleState state = effectStates.get(positionKey);
-        
-        if (state == null) {
-            state = new ParticleState(particleColor, currentTick);
-            effectStates.put(positionKey, state);
-            return true;
+
+        public int getTrackedCount() {
+            return tracked;
         }
-        
-        boolean shouldUpdate = state.shouldUpdate(particleColor, currentTick, this);
-        if (shouldUpdate) {
-            state.update(particleColor, currentTick);
+
+        private long approximateSizeBytes() {
+            return 64L + lastUpdateTick.length * BYTES_PER_PARTICLE;
         }
-        
-        return shouldUpdate;
     }
-    
-
-    public void cleanupEffect(String effectId, long currentTick, long maxAge) {
-        Map<String, ParticleState> effectStates = particleStates.get(effectId);
-        if (effectStates != null) {
-            effectStates.entrySet().removeIf(entry -> 
-                currentTick - entry.getValue().getLastUpdateTick() > maxAge);
-            
-            if (effectStates.isEmpty()) {
-                particleStates.remove(effectId);
-            }
-        }
+
+    /**
+     * Tracker for {@code effectId}, sized for at least {@code particleCount} particles.
+     */
+    public EffectTracker track(String effectId, int particleCount) {
+        EffectTracker tracker = trackers.computeIfAbsent(effectId, k -> new EffectTracker());
+        tracker.ensureCapacity(particleCount);
+        tracker.lastUsedMillis = System.currentTimeMillis();
+        return tracker;
+    }
+
+    /**
+     * Packs 0..1 colour channels into 0xRRGGBB.
+     */
+    public static int packRgb(double r, double g, double b) {
+        return (channel(r) << 16) | (channel(g) << 8) | channel(b);
+    }
+
+    /**
+     * Drops trackers not used for {@code maxIdleMillis}. Visits effects only, never their particles.
+     */
+    public void cleanupIdle(long maxIdleMillis) {
+        long cutoff = System.currentTimeMillis() - maxIdleMillis;
+        trackers.values().removeIf(tracker -> tracker.lastUsedMillis < cutoff);
     }
-    
 
     public void removeEffect(String effectId) {
-        particleStates.remove(effectId);
+        trackers.remove(effectId);
     }
 
     public int getActiveEffectCount() {
-        return particleStates.size();
+        return trackers.size();
     }
 
     public int getTotalParticleCount() {
-        return particleStates.values().stream()
-                .mapToInt(Map::size)
-                .sum();
+        int total = 0;
+        for (EffectTracker tracker : trackers.values()) {
+            total += tracker.tracked;
+        }
+        return total;
     }
 
     public long estimateMemoryBytes() {
-        long effectOverhead = (long) particleStates.size() * 96L;
-        long stateCount = getTotalParticleCount();
-        long stateOverhead = stateCount * 112L;
-        return effectOverhead + stateOverhead;
+        long total = 0L;
+        for (EffectTracker tracker : trackers.values()) {
+            total += tracker.approximateSizeBytes();
+        }
+        return total;
     }
 
     public void forceUpdateEffect(String effectId) {
-        Map<String, ParticleState> effectStates = particleStates.get(effectId);
-        if (effectStates != null) {
-            effectStates.values().forEach(state -> state.needsUpdate = true);
+        EffectTracker tracker = trackers.get(effectId);
+        if (tracker != null) {
+            tracker.forceUpdate();
         }
     }
-    
 
-    private String getPositionKey(ParticleData particle) {
-        int x = (int) Math.round(particle.getX() * 100); 
-        int y = (int) Math.round(particle.getY() * 100);
-        int z = (int) Math.round(particle.getZ() * 100);
-        return x + "," + y + "," + z;
+    private static int channel(double value) {
+        return (int) Math.round(Math.max(0.0, Math.min(1.0, value)) * 255.0);
     }
-    
 
-    private Color getParticleColor(ParticleData particle) {
-        return particle.getColor();
+    private static boolean colourChanged(int a, int b) {
+        int dr = ((a >> 16) & 0xFF) - ((b >> 16) & 0xFF);
+        int dg = ((a >> 8) & 0xFF) - ((b >> 8) & 0xFF);
+        int db = (a & 0xFF) - (b & 0xFF);
+        return dr * dr + dg * dg + db * db > COLOR_DIFF_SQUARED;
     }
-    
 
-    private double calculateColorDifference(Color color1, Color color2) {
-        if (color1 == null || color2 == null) {
-            return color1 != color2 ? 1.0 : 0.0;
-        }
-        
-        double rDiff = (color1.getRed() - color2.getRed()) / 255.0;
-        double gDiff = (color1.getGreen() - color2.getGreen()) / 255.0;
-        double bDiff = (color1.getBlue() - color2.getBlue()) / 255.0;
-        
-        return Math.sqrt(rDiff * rDiff + gDiff * gDiff + bDiff * bDiff) / Math.sqrt(3.0);
+    // Centimetre grid cell, hashed to an int; a collision only costs one skipped resend until the next refresh
+    private static int quantisedPosition(double x, double y, double z) {
+        long qx = Math.round(x * 100.0);
+        long qy = Math.round(y * 100.0);
+        long qz = Math.round(z * 100.0);
+        long h = qx * 73856093L ^ qy * 19349663L ^ qz * 83492791L;
+        return (int) (h ^ (h >>> 32));
     }
 }
@@ -0,0 +1,170 @@
+package com.winss.dustlab.effects;
+
+import com.winss.dustlab.packed.PackedParticleArray;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Double-buffered effect offsets for one static model instance, or for every instance in a
+ * {@link TransformGroups} group (same model, equal settings, in step). While the main thread emits
+ * from the frame for the current tick, a worker computes the next emission tick into the other frame,
+ * so the per-particle effect maths of rotating or swirling models runs off the server thread.
+ * <p>
+ * Frames hold each particle's offset from the base location, which is all the emitter has to add.
+ * If the worker has not finished in time, or was working on a different tick, the frame is computed
+ * inline instead, so every emitted tick still gets the offsets {@link ParticleEffects#applyEffects} gives
+ * for that tick (stored as floats).
+ * <p>
+ * {@link #acquire} is main-thread only; frames change hands through the pending future.
+ */
+public final class TransformBuffer {
+
+    private static final int WORKER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    private static ExecutorService executor;
+
+    private static final LongAdder PREFETCHED_FRAMES = new LongAdder();
+    private static final LongAdder INLINE_FRAMES = new LongAdder();
+
+    /**
+     * Offsets of every particle for one tick. Read-only for the main thread once acquired.
+     */
+    public static final class Frame {
+        final float[] x;
+        final float[] y;
+        final float[] z;
+        long tick = Long.MIN_VALUE;
+
+        Frame(int size) {
+            this.x = new float[size];
+            this.y = new float[size];
+            this.z = new float[size];
+        }
+
+        public double getX(int index) {
+            return x[index];
+        }
+
+        public double getY(int index) {
+            return y[index];
+        }
+
+        public double getZ(int index) {
+            return z[index];
+        }
+
+        public long getTick() {
+            return tick;
+        }
+    }
+
+    private final PackedParticleArray particles;
+    private final ParticleEffects.EffectSettings settings;
+    private final EffectTrajectory trajectory;
+    private Frame current;
+    private Frame spare;
+    private CompletableFuture<Frame> pending;
+
+    public TransformBuffer(PackedParticleArray particles, ParticleEffects.EffectSettings settings) {
+        this.particles = particles;
+        this.settings = settings;
+        this.trajectory = EffectTrajectory.of(settings);
+        this.current = new Frame(particles.size());
+        this.spare = new Frame(particles.size());
+    }
+
+    public boolean isFor(PackedParticleArray particles) {
+        return this.particles == particles;
+    }
+
+    /**
+     * Frame for {@code tick}, then queues {@code nextTick} (the next tick this instance will emit on) on the worker pool.
+     */
+    public Frame acquire(long tick, long nextTick) {
+        // Another instance sharing this buffer already asked for this tick; leave its prefetch alone
+        if (current.tick == tick && pending != null) {
+            return current;
+        }
+        if (pending != null && pending.isDone()) {
+            // A failed worker leaves its frame half written; start from a fresh one
+            Frame done = pending.isCompletedExceptionally() ? new Frame(particles.size()) : pending.join();
+            pending = null;
+            if (done.tick == tick) {
+                spare = current;
+                current = done;
+                PREFETCHED_FRAMES.increment();
+            } else {
+                spare = done;
+            }
+        }
+
+        if (current.tick != tick) {
+            compute(current, tick);
+            INLINE_FRAMES.increment();
+        }
+
+        if (pending == null && spare != null) {
+            Frame target = spare;
+            spare = null;
+            try {
+                pending = CompletableFuture.supplyAsync(() -> {
+                    compute(target, nextTick);
+                    return target;
+                }, executor());
+            } catch (RejectedExecutionException e) {
+                spare = target;
+            }
+        }
+        return current;
+    }
+
+    private void compute(Frame frame, long tick) {
+        if (trajectory != null) {
+            trajectory.transformAt(tick).apply(particles.getXColumn(), particles.getYColumn(), particles.getZColumn(),
+                particles.size(), frame.x, frame.y, frame.z);
+        } else {
+            ParticleEffects.applyEffects(particles, settings, tick, frame.x, frame.y, frame.z);
+        }
+        frame.tick = tick;
+    }
+
+    public long approximateSizeBytes() {
+        return 2L * (48L + (long) particles.size() * Float.BYTES * 3L);
+    }
+
+    public static long getPrefetchedFrames() {
+        return PREFETCHED_FRAMES.sum();
+    }
+
+    public static long getInlineFrames() {
+        return INLINE_FRAMES.sum();
+    }
+
+    private static synchronized ExecutorService executor() {
+        if (executor == null || executor.isShutdown()) {
+            executor = Executors.newFixedThreadPool(WORKER_THREADS, new ThreadFactory() {
+                private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "DustLab-EffectTransform-" + threadNumber.getAndIncrement());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        }
+        return executor;
+    }
+
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
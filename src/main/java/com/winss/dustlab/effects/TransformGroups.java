@@ -0,0 +1,140 @@
+package com.winss.dustlab.effects;
+
+import com.winss.dustlab.packed.PackedParticleArray;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Instances of one static model that play equal effect settings at the same tick phase render identical
+ * offsets every tick; only the anchor differs. They are grouped here and share one {@link TransformBuffer},
+ * so the per-particle effect maths runs once per group and tick instead of once per instance.
+ * <p>
+ * Membership is not reference counted. Each instance touches its group every tick it runs, and groups no
+ * instance touched for {@link #IDLE_TICKS} ticks are dropped by {@link #sweep}. Main-thread only.
+ */
+public final class TransformGroups {
+
+    private static final int IDLE_TICKS = 100;
+
+    private record Key(PackedParticleArray particles, EffectSettingsKey settings, long phase) {
+    }
+
+    /**
+     * One shared buffer and how many instances used it on the latest ticks.
+     */
+    public static final class Group {
+        private final Key key;
+        private final ParticleEffects.EffectSettings settings;
+        private final boolean periodic;
+        private TransformBuffer buffer;
+        private long lastTick = Long.MIN_VALUE;
+        private int usersThisTick;
+        private int usersLastTick;
+        private boolean retired;
+
+        private Group(Key key, ParticleEffects.EffectSettings settings) {
+            this.key = key;
+            this.settings = settings;
+            this.periodic = EffectTrajectory.of(settings) != null;
+        }
+
+        public boolean matches(PackedParticleArray particles, long phase) {
+            return !retired && key.particles() == particles && key.phase() == phase;
+        }
+
+        /**
+         * Records one instance playing this group on {@code loopTick}.
+         */
+        public void touch(long loopTick) {
+            if (loopTick != lastTick) {
+                usersLastTick = loopTick == lastTick + 1 ? usersThisTick : 0;
+                usersThisTick = 0;
+                lastTick = loopTick;
+            }
+            usersThisTick++;
+        }
+
+        /**
+         * True while more than one instance plays this group.
+         */
+        public boolean isShared() {
+            return users() > 1;
+        }
+
+        /**
+         * True when the settings repeat on a cycle short enough for {@link EffectTrajectory} to table.
+         */
+        public boolean isPeriodic() {
+            return periodic;
+        }
+
+        public TransformBuffer buffer() {
+            if (buffer == null) {
+                buffer = new TransformBuffer(key.particles(), settings);
+            }
+            return buffer;
+        }
+
+        private int users() {
+            return Math.max(usersThisTick, usersLastTick);
+        }
+    }
+
+    private final Map<Key, Group> groups = new HashMap<>();
+
+    /**
+     * Group for an instance of {@code particles} with these settings whose own tick is {@code phase} ahead of
+     * the render loop's tick.
+     */
+    public Group join(PackedParticleArray particles, EffectSettingsKey settingsKey, long phase) {
+        Key key = new Key(particles, settingsKey, phase);
+        Group group = groups.get(key);
+        if (group == null) {
+            // Tables are built from a private copy, so later edits to one instance's settings cannot reach the others
+            group = new Group(key, settingsKey.toSettings());
+            groups.put(key, group);
+        }
+        return group;
+    }
+
+    /**
+     * Drops groups no instance has touched for a while.
+     */
+    public void sweep(long loopTick) {
+        Iterator<Group> it = groups.values().iterator();
+        while (it.hasNext()) {
+            Group group = it.next();
+            if (group.lastTick < loopTick - IDLE_TICKS) {
+                group.retired = true;
+                it.remove();
+            }
+        }
+    }
+
+    public int getGroupCount() {
+        return groups.size();
+    }
+
+    /**
+     * Instances currently playing in a group with at least one other instance.
+     */
+    public int getSharingInstances() {
+        int total = 0;
+        for (Group group : groups.values()) {
+            int users = group.users();
+            if (users > 1) {
+                total += users;
+            }
+        }
+        return total;
+    }
+
+    public void clear() {
+        for (Group group : groups.values()) {
+            group.retired = true;
+        }
+        groups.clear();
+    }
+}
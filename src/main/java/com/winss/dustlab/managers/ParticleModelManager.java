@@ -6,11 +6,31 @@ import com.winss.dustlab.DustLab;
 import com.winss.dustlab.config.DustLabConfig;
 import com.winss.dustlab.models.ParticleModel;
 import com.winss.dustlab.models.ParticleData;
+import com.winss.dustlab.effects.EffectSettingsKey;
+import com.winss.dustlab.effects.EffectTrajectory;
+import com.winss.dustlab.effects.EffectTransform;
 import com.winss.dustlab.effects.ParticleEffects;
 import com.winss.dustlab.effects.ParticleOptimizer;
+import com.winss.dustlab.effects.TransformBuffer;
+import com.winss.dustlab.effects.TransformGroups;
 import com.winss.dustlab.media.AnimatedModel;
 import com.winss.dustlab.media.FrameData;
+import com.winss.dustlab.media.FrameDeltas;
+import com.winss.dustlab.packed.DelayIndex;
+import com.winss.dustlab.packed.DetailLevels;
 import com.winss.dustlab.packed.PackedParticleArray;
+import com.winss.dustlab.render.AnchorIndex;
+import com.winss.dustlab.render.ClientLifetime;
+import com.winss.dustlab.render.DustEmitter;
+import com.winss.dustlab.render.DormantEffects;
+import com.winss.dustlab.render.EffectRegistry;
+import com.winss.dustlab.render.EmissionStats;
+import com.winss.dustlab.render.ParticleBudget;
+import com.winss.dustlab.render.ParticleSink;
+import com.winss.dustlab.render.QualityLadder;
+import com.winss.dustlab.render.RenderLoop;
+import com.winss.dustlab.render.ViewerBudget;
+import com.winss.dustlab.render.ViewerSnapshot;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Particle;
@@ -30,6 +50,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.Comparator;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.Set;
 import java.util.HashSet;
@@ -65,20 +86,59 @@ public class ParticleModelManager {
     private static final double FAR_DISTANCE = 100.0; 
     private static final double MAX_RENDER_DISTANCE_SQUARED = 48.0 * 48.0; 
     private static final double MAX_RENDER_DISTANCE = Math.sqrt(MAX_RENDER_DISTANCE_SQUARED);
+    // Upper bound on how far model extent may widen the viewer search
+    private static final double MAX_CULL_EXTENT = 64.0;
+    // Re-send period of standing static particles when it is not derived from their lifetime
+    private static final int STATIC_SPAWN_INTERVAL = 3;
     
     private final DustLab plugin;
     private final DustLabConfig config;
     private final Gson gson;
     private final Map<String, ParticleModel> loadedModels;
-    private final Map<String, BukkitTask> activeEffects;
-    private final Map<String, EffectInfo> activeEffectInfo;
-    private final Map<Integer, String> effectIdMap; 
+    // Every running effect by effect ID
+    private final EffectRegistry<ActiveEffect> activeEffects = new EffectRegistry<>();
+    // Anchors of running location effects, for proximity and per-chunk lookups
+    private final AnchorIndex<ActiveEffect> effectAnchors = new AnchorIndex<>();
     private final ParticleOptimizer particleOptimizer; 
-    private int nextEffectId = 1;
-    // Track and reserve used effect IDs to avoid reuse across restarts
-    private final java.util.Set<Integer> usedEffectIds = java.util.Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
-    // IDs discovered in persistence and reserved for restore; allowed to be reused exactly
-    private final java.util.Set<Integer> reservedForRestoreIds = java.util.Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+    // Single repeating task that drives every effect instance
+    private final RenderLoop renderLoop;
+    // Server-wide packet budget split across effects each render tick
+    private final ParticleBudget particleBudget = new ParticleBudget();
+    // Per-player particle/byte cap across all effects
+    private final ViewerBudget viewerBudget = new ViewerBudget();
+    // Player positions and view permission, captured once per render tick
+    private final ViewerSnapshot viewerSnapshot = new ViewerSnapshot(this::canSeeParticles);
+    private final EmissionStats emissionStats = new EmissionStats();
+    // Budget checks and the sink hand-off for every emitted particle
+    private final DustEmitter dustEmitter = new DustEmitter(particleBudget, viewerBudget, emissionStats);
+    // Quality steps driven by server MSPT; updated by the performance monitor at the end of every server tick
+    private final QualityLadder qualityLadder = new QualityLadder();
+    // Worker-computed effect offsets for the effect currently emitting; null means apply effects inline
+    private TransformBuffer.Frame activeTransformFrame;
+    // Location instances of the same static model with equal settings, in step, share one transform buffer
+    private final TransformGroups transformGroups = new TransformGroups();
+    // Location effects parked out of the render loop while nobody can see them
+    private final DormantEffects<LocationEffectRenderer> dormantEffects = new DormantEffects<>(LocationEffectRenderer::wake);
+    // How often an awake location effect checks whether it can park
+    private static final int DORMANCY_CHECK_TICKS = 10;
+    // How often parked effects are checked for expiry, and woken near players as a fallback to events
+    private static final int DORMANT_SWEEP_TICKS = 100;
+    // Last compiled effect chain; emission of one effect is contiguous, so a single slot nearly always hits
+    private EffectTransform compiledEffects;
+    private ParticleEffects.EffectSettings compiledEffectsSettings;
+    private long compiledEffectsTick;
+    private ParticleEffects.EffectSettings trajectorySettings;
+    private EffectTrajectory trajectory;
+    private final double[] effectOffset = new double[3];
+    // Detail level of each current viewer (aligned with the viewer list) while an effect emits; null sends full detail
+    private int[] activeViewerLevels;
+    private int activeMaxViewerLevel = DetailLevels.FULL;
+    private int[] viewerLevelScratch = new int[16];
+    private int emitDetailRank = 0;
+    private final Set<PackedParticleArray> detailLevelBuilds = ConcurrentHashMap.newKeySet();
+    // Arrays whose clustering failed stay at full detail instead of being rebuilt every tick
+    private final Set<PackedParticleArray> detailLevelFailures = Collections.synchronizedSet(
+        Collections.newSetFromMap(new java.util.WeakHashMap<>()));
     private long lastSaveLogTime = 0; 
     // Progressive loading state
     private final Map<String, LoadJob> loadingJobs = new ConcurrentHashMap<>();
@@ -248,10 +308,8 @@ public class ParticleModelManager {
                 .setPrettyPrinting()
                 .create();
         this.loadedModels = new ConcurrentHashMap<>();
-        this.activeEffects = new ConcurrentHashMap<>();
-        this.activeEffectInfo = new ConcurrentHashMap<>();
-        this.effectIdMap = new ConcurrentHashMap<>();
     this.particleOptimizer = new ParticleOptimizer();
+    this.renderLoop = new RenderLoop(plugin, this::beginRenderTick);
     this.loadConcurrency = new Semaphore(Math.max(1, (config != null ? config.getProgressiveMaxConcurrent() : 2)));
         
         File modelsDir = new File(plugin.getDataFolder(), "models");
@@ -261,22 +319,50 @@ public class ParticleModelManager {
         }
         
     loadPersistedModels();
+        renderLoop.start();
+        dormantEffects.start(plugin);
         
         autoSaveTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
             savePersistedModels(true); 
         }, 36000L, 36000L); 
         
         optimizerCleanupTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            long currentTick = plugin.getServer().getCurrentTick();
-            for (String effectKey : activeEffectInfo.keySet()) {
-                particleOptimizer.cleanupEffect(effectKey, currentTick, 12000L);
-            }
+            // Trackers idle for 10 minutes belong to effects that stopped sending
+            particleOptimizer.cleanupIdle(600_000L);
         }, 6000L, 6000L); 
 
     // Attempt to recover any leftover temporary model files from previous crashes
     try { recoverOrQuarantineTempFiles(); } catch (Exception ignored) {}
     }
     
+    private void beginRenderTick() {
+        if (config != null) {
+            particleBudget.configure(config.isGlobalParticleBudgetEnabled(), config.getGlobalParticlesPerTick(), config.getGlobalParticleBudgetMaxCarryOver());
+            viewerBudget.configure(config.isViewerBudgetEnabled(), config.getViewerMaxParticlesPerTick(), config.getViewerMaxBytesPerTick(), config.getViewerNormalPriorityShare());
+            dustEmitter.configure(config.getAnimatedParticleMode() == com.winss.dustlab.config.DustLabConfig.AnimatedParticleMode.TRANSITION,
+                config.getStaticParticleType() == com.winss.dustlab.config.DustLabConfig.StaticParticleType.AUTO);
+            viewerSnapshot.setHysteresis(config.getViewerHysteresisBlocks());
+            qualityLadder.configure(config.isDegradationEnabled(), config.getDegradationReduceFrequencyMspt(),
+                config.getDegradationReduceDetailMspt(), config.getDegradationPauseLowPriorityMspt(),
+                config.getDegradationRecoveryMarginMspt(), config.getDegradationRecoverySeconds() * 20);
+        }
+        if (renderLoop.getLoopTick() % 20L == 0L) {
+            transformGroups.sweep(renderLoop.getLoopTick());
+        }
+        if (renderLoop.getLoopTick() % DORMANT_SWEEP_TICKS == 0L && dormantEffects.size() > 0) {
+            dormantEffects.removeIf(LocationEffectRenderer::endedWhileParked);
+            dormantEffects.wakeNearPlayers();
+        }
+        viewerSnapshot.rebuild();
+        particleBudget.beginTick();
+        viewerBudget.beginTick();
+        emissionStats.beginTick();
+    }
+
+    private int budgetRotationStart(int tick, int particleCount) {
+        return particleBudget.rotationStart(tick, particleCount);
+    }
+
     private int getMaxParticlesPerTick() {
         return config != null ? config.getMaxParticlesPerTickPerModel() : MAX_PARTICLES_PER_TICK;
     }
@@ -406,44 +492,18 @@ public class ParticleModelManager {
         return loadingJobs.containsKey(name.toLowerCase());
     }
 
-    // Allocate a fresh unique effect ID (max(existing)+1), skipping any used IDs
-    private synchronized int allocateEffectId() {
-        // Advance nextEffectId to at least max(used)+1
-        if (!usedEffectIds.isEmpty() || !reservedForRestoreIds.isEmpty()) {
-            int max = nextEffectId;
-            for (int id : usedEffectIds) if (id > max) max = id;
-            for (int id : reservedForRestoreIds) if (id > max) max = id;
-            if (max >= nextEffectId) nextEffectId = max + 1;
-        }
-        int id = nextEffectId++;
-        while (usedEffectIds.contains(id) || reservedForRestoreIds.contains(id)) {
-            id = nextEffectId++;
-        }
-        usedEffectIds.add(id);
-        return id;
-    }
-
     // Reserve a specific effect ID if free, otherwise return a new allocated one. Only warn on real conflicts.
-    private synchronized int reserveSpecificEffectId(int desiredId) {
+    private int reserveSpecificEffectId(int desiredId) {
         if (desiredId > 0) {
-            if (usedEffectIds.contains(desiredId)) {
-                int newId = allocateEffectId();
-                plugin.getLogger().warning("Persistent effect ID conflict for id=" + desiredId + ", assigned new id=" + newId);
-                return newId;
-            } else if (reservedForRestoreIds.contains(desiredId)) {
-                // Promote reserved restore ID to used
-                reservedForRestoreIds.remove(desiredId);
-                usedEffectIds.add(desiredId);
-                if (desiredId >= nextEffectId) nextEffectId = desiredId + 1;
-                return desiredId;
-            } else {
-                usedEffectIds.add(desiredId);
-                if (desiredId >= nextEffectId) nextEffectId = desiredId + 1;
+            if (activeEffects.claim(desiredId)) {
                 return desiredId;
             }
+            int newId = activeEffects.allocate();
+            plugin.getLogger().warning("Persistent effect ID conflict for id=" + desiredId + ", assigned new id=" + newId);
+            return newId;
         }
         // No valid desired ID provided; allocate a fresh one silently
-        return allocateEffectId();
+        return activeEffects.allocate();
     }
 
     public int getModelLoadingPercent(String name) {
@@ -598,7 +658,8 @@ public class ParticleModelManager {
                         job.parsedParticles++;
                     }
                     reader.endArray();
-                    PackedParticleArray packed = builder.build();
+                    // Static models are stored in progressive order so budget-limited paths can take a prefix
+                    PackedParticleArray packed = builder.reorderProgressive().build();
                     job.parsedParticles = packed.size();
 
                     if (shuttingDown) {
@@ -1200,125 +1261,8 @@ public class ParticleModelManager {
             return -1;
         }
         
-    int effectId = allocateEffectId();
-        String effectKey = modelName + "_player_" + player.getName() + "_" + effectId + "_" + System.currentTimeMillis();
-        
-        activeEffectInfo.put(effectKey, new EffectInfo(effectId, modelName, player, lifetimeSeconds, onlyWhenStill, forceVisible, effects));
-        effectIdMap.put(effectId, effectKey);
-        
-    Location[] lastLocation = {player.getLocation().clone()};
-        
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
-            private int tick = 0;
-            private final int maxTicks = Math.max(model.getDuration(), getMaxParticleDelay(model) + 60);
-            private final boolean isAnimatedModel = model instanceof com.winss.dustlab.media.AnimatedModel;
-            private long startMs = System.currentTimeMillis();
-            private int lastFrameIndex = -1;
-            private int lastFrameChangeTick = 0;
-            
-            @Override
-            public void run() {
-                EffectInfo currentEffect = activeEffectInfo.get(effectKey);
-                if (currentEffect == null) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-                
-                if (!player.isOnline()) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-                
-                if (currentEffect.hasExpired()) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-                
-                if (tick >= maxTicks && lifetimeSeconds == 0) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-                
-                Location currentLocation = player.getLocation();
-                boolean shouldShow = true;
-                boolean isMoving = false;
-                
-                if (onlyWhenStill) {
-                    double distance = lastLocation[0].distance(currentLocation);
-                    shouldShow = distance < 0.1; 
-                    isMoving = distance >= 0.05; 
-                } else {
-                    double distance = lastLocation[0].distance(currentLocation);
-                    isMoving = distance >= 0.05; 
-                }
-                
-                lastLocation[0] = currentLocation.clone();
-                
-                List<ParticleData> currentParticles;
-                PackedParticleArray currentPacked = null;
-                boolean emitThisTick = true;
-                if (isAnimatedModel) {
-                    com.winss.dustlab.media.AnimatedModel animatedModel = (com.winss.dustlab.media.AnimatedModel) model;
-                    com.winss.dustlab.media.FrameData currentFrame = animatedModel.isTickAligned()
-                        ? animatedModel.getFrameAtTick(tick)
-                        : animatedModel.getFrameAtTime(System.currentTimeMillis() - startMs);
-                    if (currentFrame != null) {
-                        int frameIndex = currentFrame.getFrameIndex();
-                        if (frameIndex != lastFrameIndex) {
-                            lastFrameIndex = frameIndex;
-                            lastFrameChangeTick = tick;
-                            emitThisTick = true;
-                        } else {
-                            int lifespan = Math.max(1, config.getMediaParticleLifespanTicks());
-                            emitThisTick = (tick - lastFrameChangeTick) < lifespan;
-                        }
-                        currentParticles = currentFrame.getParticles();
-                        currentPacked = currentFrame.getPackedParticles();
-                    } else {
-                        currentParticles = Collections.emptyList();
-                        emitThisTick = false;
-                    }
-                } else {
-                    currentParticles = model.getParticles() != null ? model.getParticles() : Collections.emptyList();
-                    if (model.hasPackedParticles()) {
-                        currentPacked = model.getPackedParticles();
-                    }
-                }
-                
-                if (shouldShow && emitThisTick && !currentParticles.isEmpty()) {
-                    boolean shouldSpawnThisTick = true;
-                    if (isMoving) {
-                        shouldSpawnThisTick = (tick % 2 == 0);
-                    }
-                    
-                    if (shouldSpawnThisTick) {
-                        processParticlesForPlayer(currentParticles, currentPacked, player, currentLocation, effects, tick, lifetimeSeconds, maxTicks, forceVisible, effectKey, isAnimatedModel);
-                    }
-                }
-                
-                tick++;
-            }
-        }, 0L, 1L); 
-        
-        activeEffects.put(effectKey, task);
+    int effectId = activeEffects.allocate();
+        startPlayerEffect(modelName, model, player, lifetimeSeconds, effects, onlyWhenStill, forceVisible, effectId);
         return effectId;
     }
 
@@ -1343,124 +1287,7 @@ public class ParticleModelManager {
         if (effectId != desiredId) {
             plugin.getLogger().warning("Effect ID conflict for restore: requested " + desiredId + ", assigned " + effectId + ".");
         }
-        String effectKey = modelName + "_player_" + player.getName() + "_" + effectId + "_" + System.currentTimeMillis();
-
-        activeEffectInfo.put(effectKey, new EffectInfo(effectId, modelName, player, lifetimeSeconds, onlyWhenStill, forceVisible, effects));
-        effectIdMap.put(effectId, effectKey);
-
-        Location[] lastLocation = {player.getLocation().clone()};
-
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
-            private int tick = 0;
-            private final int maxTicks = Math.max(model.getDuration(), getMaxParticleDelay(model) + 60);
-            private final boolean isAnimatedModel = model instanceof com.winss.dustlab.media.AnimatedModel;
-            private long startMs = System.currentTimeMillis();
-            private int lastFrameIndex = -1;
-            private int lastFrameChangeTick = 0;
-
-            @Override
-            public void run() {
-                EffectInfo currentEffect = activeEffectInfo.get(effectKey);
-                if (currentEffect == null) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-
-                if (!player.isOnline()) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-
-                if (currentEffect.hasExpired()) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-
-                if (tick >= maxTicks && lifetimeSeconds == 0) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-
-                Location currentLocation = player.getLocation();
-                boolean shouldShow = true;
-                boolean isMoving = false;
-
-                if (onlyWhenStill) {
-                    double distance = lastLocation[0].distance(currentLocation);
-                    shouldShow = distance < 0.1;
-                    isMoving = distance >= 0.05;
-                } else {
-                    double distance = lastLocation[0].distance(currentLocation);
-                    isMoving = distance >= 0.05;
-                }
-
-                lastLocation[0] = currentLocation.clone();
-
-                List<ParticleData> currentParticles;
-                PackedParticleArray currentPacked = null;
-                boolean emitThisTick = true;
-                if (isAnimatedModel) {
-                    com.winss.dustlab.media.AnimatedModel animatedModel = (com.winss.dustlab.media.AnimatedModel) model;
-                    com.winss.dustlab.media.FrameData currentFrame = animatedModel.isTickAligned()
-                        ? animatedModel.getFrameAtTick(tick)
-                        : animatedModel.getFrameAtTime(System.currentTimeMillis() - startMs);
-                    if (currentFrame != null) {
-                        int frameIndex = currentFrame.getFrameIndex();
-                        if (frameIndex != lastFrameIndex) {
-                            lastFrameIndex = frameIndex;
-                            lastFrameChangeTick = tick;
-                            emitThisTick = true;
-                        } else {
-                            int lifespan = Math.max(1, config.getMediaParticleLifespanTicks());
-                            emitThisTick = (tick - lastFrameChangeTick) < lifespan;
-                        }
-                        currentParticles = currentFrame.getParticles();
-                        currentPacked = currentFrame.getPackedParticles();
-                    } else {
-                        currentParticles = Collections.emptyList();
-                        emitThisTick = false;
-                    }
-                } else {
-                    currentParticles = model.getParticles() != null ? model.getParticles() : Collections.emptyList();
-                    if (model.hasPackedParticles()) {
-                        currentPacked = model.getPackedParticles();
-                    }
-                }
-
-                if (shouldShow && emitThisTick && !currentParticles.isEmpty()) {
-                    boolean shouldSpawnThisTick = true;
-                    if (isMoving) {
-                        shouldSpawnThisTick = (tick % 2 == 0);
-                    }
-
-                    if (shouldSpawnThisTick) {
-                        processParticlesForPlayer(currentParticles, currentPacked, player, currentLocation, effects, tick, lifetimeSeconds, maxTicks, forceVisible, effectKey, isAnimatedModel);
-                    }
-                }
-
-                tick++;
-            }
-        }, 0L, 1L);
-
-        activeEffects.put(effectKey, task);
+        startPlayerEffect(modelName, model, player, lifetimeSeconds, effects, onlyWhenStill, forceVisible, effectId);
         return effectId;
     }
     
@@ -1482,101 +1309,8 @@ public class ParticleModelManager {
         }
         
         
-    int effectId = allocateEffectId();
-        String effectKey = modelName + "_" + effectId + "_" + System.currentTimeMillis();
-        
-        activeEffectInfo.put(effectKey, new EffectInfo(effectId, modelName, location.clone(), lifetimeSeconds, persistent, effects));
-        effectIdMap.put(effectId, effectKey);
-        
-        int tickRate = 1;
-        boolean isLargeModel = model.getParticles() != null && model.getParticles().size() > LARGE_MODEL_THRESHOLD_STRICT;
-        
-        if (isLargeModel) {
-            int particleCount = model.getParticles().size();
-            if (particleCount > 10000) {
-                com.winss.dustlab.utils.MessageUtils.logVerbose(plugin, config, "Loading very large model '" + modelName + "' (" + particleCount + " particles) - using sectioned rendering with persistent outline");
-            } else {
-                com.winss.dustlab.utils.MessageUtils.logVerbose(plugin, config, "Loading large model '" + modelName + "' (" + particleCount + " particles) - using persistence overlap rendering");
-            }
-        }
-        
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
-            private int tick = 0;
-            private final int maxTicks = Math.max(model.getDuration(), getMaxParticleDelay(model) + 60);
-            @SuppressWarnings("unused")
-            private final int particleCount = model.getParticles() != null ? model.getParticles().size() : 0;
-            private final boolean isAnimatedModel = model instanceof com.winss.dustlab.media.AnimatedModel;
-            private long startMs = System.currentTimeMillis();
-            private int lastFrameIndex = -1; // to gate per-frame emission
-            
-            @Override
-            public void run() {
-                EffectInfo currentEffect = activeEffectInfo.get(effectKey);
-                if (currentEffect == null) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-                
-                if (currentEffect.hasExpired()) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-                
-                if (tick >= maxTicks && lifetimeSeconds == 0) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-                
-                List<ParticleData> currentParticles;
-                PackedParticleArray currentPacked = null;
-                if (isAnimatedModel) {
-                    com.winss.dustlab.media.AnimatedModel animatedModel = (com.winss.dustlab.media.AnimatedModel) model;
-                    com.winss.dustlab.media.FrameData currentFrame = animatedModel.isTickAligned()
-                        ? animatedModel.getFrameAtTick(tick)
-                        : animatedModel.getFrameAtTime(System.currentTimeMillis() - startMs);
-                    // Per-frame emission gating: only emit when frame index advances or on first tick
-                    if (currentFrame != null) {
-                        int frameIndex = currentFrame.getFrameIndex();
-                        if (frameIndex == lastFrameIndex) {
-                            tick++;
-                            return;
-                        }
-                        lastFrameIndex = frameIndex;
-                        currentParticles = currentFrame.getParticles();
-                        currentPacked = currentFrame.getPackedParticles();
-                        
-                    } else {
-                        currentParticles = Collections.emptyList();
-                    }
-                } else {
-                    currentParticles = model.getParticles() != null ? model.getParticles() : Collections.emptyList();
-                    if (model.hasPackedParticles()) {
-                        currentPacked = model.getPackedParticles();
-                    }
-                }
-                
-                if (!currentParticles.isEmpty()) {
-                    processParticlesSimple(currentParticles, currentPacked, null, location, effects, tick, lifetimeSeconds, maxTicks, effectKey, isAnimatedModel);
-                }
-                
-                tick++;
-            }
-        }, 0L, tickRate);
-        
-        activeEffects.put(effectKey, task);
+    int effectId = activeEffects.allocate();
+        startLocationEffect(modelName, model, location, lifetimeSeconds, persistent, effects, effectId, 0L);
         return effectId;
     }
 
@@ -1602,99 +1336,11 @@ public class ParticleModelManager {
         if (effectId != desiredId) {
             plugin.getLogger().warning("Effect ID conflict for restore: requested " + desiredId + ", assigned " + effectId + ".");
         }
-        String effectKey = modelName + "_" + effectId + "_" + System.currentTimeMillis();
-
-        activeEffectInfo.put(effectKey, new EffectInfo(effectId, modelName, location.clone(), lifetimeSeconds, persistent, effects));
-        effectIdMap.put(effectId, effectKey);
-
-        int tickRate = 1;
-        boolean isLargeModel = model.getParticles() != null && model.getParticles().size() > LARGE_MODEL_THRESHOLD_STRICT;
-
-        if (isLargeModel) {
-            int particleCount = model.getParticles().size();
-            if (particleCount > 10000) {
-                com.winss.dustlab.utils.MessageUtils.logVerbose(plugin, config, "Loading very large model '" + modelName + "' (" + particleCount + " particles) - using sectioned rendering with persistent outline");
-            } else {
-                com.winss.dustlab.utils.MessageUtils.logVerbose(plugin, config, "Loading large model '" + modelName + "' (" + particleCount + " particles) - using persistence overlap rendering");
-            }
-        }
-
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
-            private int tick = 0;
-            private final int maxTicks = Math.max(model.getDuration(), getMaxParticleDelay(model) + 60);
-            @SuppressWarnings("unused")
-            private final int particleCount = model.getParticles() != null ? model.getParticles().size() : 0;
-            private final boolean isAnimatedModel = model instanceof com.winss.dustlab.media.AnimatedModel;
-            private long startMs = System.currentTimeMillis();
-            private int lastFrameIndex = -1; // to gate per-frame emission
-
-            @Override
-            public void run() {
-                EffectInfo currentEffect = activeEffectInfo.get(effectKey);
-                if (currentEffect == null) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-
-                if (currentEffect.hasExpired()) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-
-                if (tick >= maxTicks && lifetimeSeconds == 0) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-
-                List<ParticleData> currentParticles;
-                if (isAnimatedModel) {
-                    com.winss.dustlab.media.AnimatedModel animatedModel = (com.winss.dustlab.media.AnimatedModel) model;
-                    com.winss.dustlab.media.FrameData currentFrame = animatedModel.isTickAligned()
-                        ? animatedModel.getFrameAtTick(tick)
-                        : animatedModel.getFrameAtTime(System.currentTimeMillis() - startMs);
-                    // Per-frame emission gating: only emit when frame index advances or on first tick
-                    if (currentFrame != null) {
-                        int frameIndex = currentFrame.getFrameIndex();
-                        if (frameIndex == lastFrameIndex) {
-                            tick++;
-                            return;
-                        }
-                        lastFrameIndex = frameIndex;
-                        currentParticles = currentFrame.getParticles();
-
-                    } else {
-                        currentParticles = new ArrayList<>();
-                    }
-                } else {
-                    currentParticles = model.getParticles() != null ? model.getParticles() : new ArrayList<>();
-                }
-
-                if (!currentParticles.isEmpty()) {
-                    processParticlesSimple(currentParticles, null, location, effects, tick, lifetimeSeconds, maxTicks, effectKey, isAnimatedModel);
-                }
-
-                tick++;
-            }
-        }, 0L, tickRate);
-
-        activeEffects.put(effectKey, task);
+        startLocationEffect(modelName, model, location, lifetimeSeconds, persistent, effects, effectId, 0L);
         return effectId;
     }
 
-    // Internal helper to spawn on location reusing an existing effect ID (no reservation, used for moveEffect)
+    // Internal helper to respawn on location using an existing effect ID (used by move)
     private int playModelOnLocationWithEffectsWithExistingId(String modelName, Location location, int lifetimeSeconds, boolean persistent, ParticleEffects.EffectSettings effects, int existingId) {
         ParticleModel model = getModel(modelName);
         if (model == null) {
@@ -1713,95 +1359,7 @@ public class ParticleModelManager {
         }
 
         final int effectId = existingId;
-        String effectKey = modelName + "_" + effectId + "_" + System.currentTimeMillis();
-
-        activeEffectInfo.put(effectKey, new EffectInfo(effectId, modelName, location.clone(), lifetimeSeconds, persistent, effects));
-        effectIdMap.put(effectId, effectKey);
-
-        int tickRate = 1;
-        boolean isLargeModel = model.getParticles() != null && model.getParticles().size() > LARGE_MODEL_THRESHOLD_STRICT;
-
-        if (isLargeModel) {
-            int particleCount = model.getParticles().size();
-            if (particleCount > 10000) {
-                com.winss.dustlab.utils.MessageUtils.logVerbose(plugin, config, "Loading very large model '" + modelName + "' (" + particleCount + " particles) - using sectioned rendering with persistent outline");
-            } else {
-                com.winss.dustlab.utils.MessageUtils.logVerbose(plugin, config, "Loading large model '" + modelName + "' (" + particleCount + " particles) - using persistence overlap rendering");
-            }
-        }
-
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
-            private int tick = 0;
-            private final int maxTicks = Math.max(model.getDuration(), getMaxParticleDelay(model) + 60);
-            @SuppressWarnings("unused")
-            private final int particleCount = model.getParticles() != null ? model.getParticles().size() : 0;
-            private final boolean isAnimatedModel = model instanceof com.winss.dustlab.media.AnimatedModel;
-            private long startMs = System.currentTimeMillis();
-            private int lastFrameIndex = -1; // to gate per-frame emission
-
-            @Override
-            public void run() {
-                EffectInfo currentEffect = activeEffectInfo.get(effectKey);
-                if (currentEffect == null) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-
-                if (currentEffect.hasExpired()) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-
-                if (tick >= maxTicks && lifetimeSeconds == 0) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-
-                List<ParticleData> currentParticles;
-                if (isAnimatedModel) {
-                    com.winss.dustlab.media.AnimatedModel animatedModel = (com.winss.dustlab.media.AnimatedModel) model;
-                    com.winss.dustlab.media.FrameData currentFrame = animatedModel.isTickAligned()
-                        ? animatedModel.getFrameAtTick(tick)
-                        : animatedModel.getFrameAtTime(System.currentTimeMillis() - startMs);
-                    // Per-frame emission gating: only emit when frame index advances or on first tick
-                    if (currentFrame != null) {
-                        int frameIndex = currentFrame.getFrameIndex();
-                        if (frameIndex == lastFrameIndex) {
-                            tick++;
-                            return;
-                        }
-                        lastFrameIndex = frameIndex;
-                        currentParticles = currentFrame.getParticles();
-
-                    } else {
-                        currentParticles = new ArrayList<>();
-                    }
-                } else {
-                    currentParticles = model.getParticles() != null ? model.getParticles() : new ArrayList<>();
-                }
-
-                if (!currentParticles.isEmpty()) {
-                    processParticlesSimple(currentParticles, null, location, effects, tick, lifetimeSeconds, maxTicks, effectKey, isAnimatedModel);
-                }
-
-                tick++;
-            }
-        }, 0L, tickRate);
-
-        activeEffects.put(effectKey, task);
+        startLocationEffect(modelName, model, location, lifetimeSeconds, persistent, effects, effectId, 0L);
         return effectId;
     }
     
@@ -1822,100 +1380,8 @@ public class ParticleModelManager {
             return -1;
         }
         
-    int effectId = allocateEffectId();
-        String effectKey = modelName + "_" + effectId + "_" + System.currentTimeMillis();
-        
-        activeEffectInfo.put(effectKey, new EffectInfo(effectId, modelName, location.clone(), lifetimeSeconds, persistent, effects));
-        effectIdMap.put(effectId, effectKey);
-        
-        int tickRate = 1;
-        boolean isLargeModel = model.getParticles() != null && model.getParticles().size() > LARGE_MODEL_THRESHOLD_STRICT;
-        
-        if (isLargeModel) {
-            int particleCount = model.getParticles().size();
-            if (particleCount > 10000) {
-                com.winss.dustlab.utils.MessageUtils.logVerbose(plugin, config, "Loading very large model '" + modelName + "' (" + particleCount + " particles) - using sectioned rendering with persistent outline");
-            } else {
-                com.winss.dustlab.utils.MessageUtils.logVerbose(plugin, config, "Loading large model '" + modelName + "' (" + particleCount + " particles) - using persistence overlap rendering");
-            }
-        }
-        
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
-            private int tick = (int) initialTickOffset; // Start with the calculated offset
-            private final int maxTicks = Math.max(model.getDuration(), getMaxParticleDelay(model) + 60);
-            @SuppressWarnings("unused")
-            private final int particleCount = model.getParticles() != null ? model.getParticles().size() : 0;
-            private final boolean isAnimatedModel = model instanceof com.winss.dustlab.media.AnimatedModel;
-            private long startMs = System.currentTimeMillis() - (initialTickOffset * 50L);
-            private int lastFrameIndex = -1;
-            
-            @Override
-            public void run() {
-                EffectInfo currentEffect = activeEffectInfo.get(effectKey);
-                if (currentEffect == null) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-                
-                if (currentEffect.hasExpired()) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-                
-                if (tick >= maxTicks && lifetimeSeconds == 0) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
-                
-                List<ParticleData> currentParticles;
-                PackedParticleArray currentPacked = null;
-                if (isAnimatedModel) {
-                    com.winss.dustlab.media.AnimatedModel animatedModel = (com.winss.dustlab.media.AnimatedModel) model;
-                    com.winss.dustlab.media.FrameData currentFrame = animatedModel.isTickAligned()
-                        ? animatedModel.getFrameAtTick(tick)
-                        : animatedModel.getFrameAtTime(System.currentTimeMillis() - startMs);
-                    if (currentFrame != null) {
-                        int frameIndex = currentFrame.getFrameIndex();
-                        if (frameIndex == lastFrameIndex) {
-                            tick++;
-                            return;
-                        }
-                        lastFrameIndex = frameIndex;
-                        currentParticles = currentFrame.getParticles();
-                        currentPacked = currentFrame.getPackedParticles();
-                        
-                    } else {
-                        currentParticles = Collections.emptyList();
-                    }
-                } else {
-                    currentParticles = model.getParticles() != null ? model.getParticles() : Collections.emptyList();
-                    if (model.hasPackedParticles()) {
-                        currentPacked = model.getPackedParticles();
-                    }
-                }
-                
-                if (!currentParticles.isEmpty()) {
-                    processParticlesSimple(currentParticles, currentPacked, null, location, effects, tick, lifetimeSeconds, maxTicks, effectKey, isAnimatedModel);
-                }
-                
-                tick++;
-            }
-        }, 0L, tickRate);
-        
-        activeEffects.put(effectKey, task);
+    int effectId = activeEffects.allocate();
+        startLocationEffect(modelName, model, location, lifetimeSeconds, persistent, effects, effectId, initialTickOffset);
         return effectId;
     }
 
@@ -1941,12 +1407,16 @@ public class ParticleModelManager {
         if (effectId != desiredId) {
             plugin.getLogger().warning("Effect ID conflict for restore: requested " + desiredId + ", assigned " + effectId + ".");
         }
-        String effectKey = modelName + "_" + effectId + "_" + System.currentTimeMillis();
+        startLocationEffect(modelName, model, location, lifetimeSeconds, persistent, effects, effectId, initialTickOffset);
+        return effectId;
+    }
 
-        activeEffectInfo.put(effectKey, new EffectInfo(effectId, modelName, location.clone(), lifetimeSeconds, persistent, effects));
-        effectIdMap.put(effectId, effectKey);
+    // Registers the effect info and hands a renderer to the shared render loop
+    private void startLocationEffect(String modelName, ParticleModel model, Location location, int lifetimeSeconds, boolean persistent,
+                                     ParticleEffects.EffectSettings effects, int effectId, long initialTickOffset) {
+        String effectKey = modelName + "_" + effectId + "_" + System.currentTimeMillis();
+        ActiveEffect active = new ActiveEffect(effectKey, new EffectInfo(effectId, modelName, location.clone(), lifetimeSeconds, persistent, effects));
 
-        int tickRate = 1;
         boolean isLargeModel = model.getParticles() != null && model.getParticles().size() > LARGE_MODEL_THRESHOLD_STRICT;
 
         if (isLargeModel) {
@@ -1958,78 +1428,375 @@ public class ParticleModelManager {
             }
         }
 
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
-            private int tick = (int) initialTickOffset; // Start with the calculated offset
-            private final int maxTicks = Math.max(model.getDuration(), getMaxParticleDelay(model) + 60);
-            @SuppressWarnings("unused")
-            private final int particleCount = model.getParticles() != null ? model.getParticles().size() : 0;
-            private final boolean isAnimatedModel = model instanceof com.winss.dustlab.media.AnimatedModel;
-            private long startMs = System.currentTimeMillis() - (initialTickOffset * 50L);
-            private int lastFrameIndex = -1;
+        register(active, new LocationEffectRenderer(active, model, location, lifetimeSeconds, effects, initialTickOffset));
+    }
 
-            @Override
-            public void run() {
-                EffectInfo currentEffect = activeEffectInfo.get(effectKey);
-                if (currentEffect == null) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
+    private void startPlayerEffect(String modelName, ParticleModel model, Player player, int lifetimeSeconds,
+                                   ParticleEffects.EffectSettings effects, boolean onlyWhenStill, boolean forceVisible, int effectId) {
+        String effectKey = modelName + "_player_" + player.getName() + "_" + effectId + "_" + System.currentTimeMillis();
+        ActiveEffect active = new ActiveEffect(effectKey, new EffectInfo(effectId, modelName, player, lifetimeSeconds, onlyWhenStill, forceVisible, effects));
+        register(active, new PlayerEffectRenderer(active, model, player, lifetimeSeconds, effects, onlyWhenStill, forceVisible));
+    }
 
-                if (currentEffect.hasExpired()) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
+    private void register(ActiveEffect active, Runnable renderer) {
+        active.handle = renderLoop.schedule(renderer, 1);
+        activeEffects.put(active.info.id, active);
+        if (active.info.attachedPlayer == null) {
+            effectAnchors.add(active, active.info.location);
+        }
+    }
 
-                if (tick >= maxTicks && lifetimeSeconds == 0) {
-                    BukkitTask currentTask = activeEffects.remove(effectKey);
-                    activeEffectInfo.remove(effectKey);
-                    effectIdMap.remove(effectId);
-                    if (currentTask != null) {
-                        currentTask.cancel();
-                    }
-                    return;
-                }
+    /**
+     * One registered effect instance: what commands and persistence see, and the render loop handle driving it.
+     * The key is unique per instance, unlike the ID, which is reused once the effect stops.
+     */
+    private static final class ActiveEffect {
+        final String key;
+        final EffectInfo info;
+        RenderLoop.Handle handle;
+
+        ActiveEffect(String key, EffectInfo info) {
+            this.key = key;
+            this.info = info;
+        }
+    }
+
+    /**
+     * Playback state for one location-anchored effect instance. Runs once per tick on the shared {@link RenderLoop}.
+     */
+    private final class LocationEffectRenderer implements Runnable {
+        private final ActiveEffect active;
+        private final String effectKey;
+        private final int effectId;
+        private final ParticleModel model;
+        private final Location location;
+        private final int lifetimeSeconds;
+        private final ParticleEffects.EffectSettings effects;
+        private final int maxTicks;
+        private final boolean isAnimatedModel;
+        private final long startMs;
+        private int tick;
+        private int lastFrameIndex = -1; // to gate per-frame emission
+        private FrameData lastFrame;
+        private final EffectSettingsKey settingsKey;
+        private TransformGroups.Group transformGroup;
+        private int dormancyCountdown = DORMANCY_CHECK_TICKS;
+        private int idleChecks = 0;
+        private boolean parkUntilChunkLoads = false;
+        private long parkedAtLoopTick = -1L;
+
+        LocationEffectRenderer(ActiveEffect active, ParticleModel model, Location location, int lifetimeSeconds,
+                               ParticleEffects.EffectSettings effects, long initialTickOffset) {
+            this.active = active;
+            this.effectKey = active.key;
+            this.effectId = active.info.id;
+            this.model = model;
+            this.location = location;
+            this.lifetimeSeconds = lifetimeSeconds;
+            this.effects = effects;
+            this.settingsKey = effects != null && effects.hasEffects() ? EffectSettingsKey.of(effects) : null;
+            this.maxTicks = Math.max(model.getDuration(), getMaxParticleDelay(model) + 60);
+            this.isAnimatedModel = model instanceof com.winss.dustlab.media.AnimatedModel;
+            this.tick = (int) initialTickOffset; // Start with the calculated offset
+            this.startMs = System.currentTimeMillis() - (initialTickOffset * 50L);
+        }
+
+        @Override
+        public void run() {
+            if (activeEffects.get(effectId) != active) {
+                active.handle.cancel();
+                return;
+            }
+            EffectInfo currentEffect = active.info;
+
+            if (parkedAtLoopTick >= 0L) {
+                // Woken from dormancy: pick the timeline up where it would be had it kept running
+                tick += (int) (renderLoop.getLoopTick() - parkedAtLoopTick);
+                parkedAtLoopTick = -1L;
+            }
+
+            if (currentEffect.hasExpired() || (tick >= maxTicks && lifetimeSeconds == 0)) {
+                finishEffect(active);
+                return;
+            }
 
-                List<ParticleData> currentParticles;
-                if (isAnimatedModel) {
-                    com.winss.dustlab.media.AnimatedModel animatedModel = (com.winss.dustlab.media.AnimatedModel) model;
-                    com.winss.dustlab.media.FrameData currentFrame = animatedModel.isTickAligned()
-                        ? animatedModel.getFrameAtTick(tick)
-                        : animatedModel.getFrameAtTime(System.currentTimeMillis() - startMs);
-                    if (currentFrame != null) {
-                        int frameIndex = currentFrame.getFrameIndex();
-                        if (frameIndex == lastFrameIndex) {
+            if (--dormancyCountdown <= 0 && config.isDormancyEnabled() && shouldPark()) {
+                park();
+                return;
+            }
+
+            // Static location models are the first thing dropped while the server is overloaded
+            if (!isAnimatedModel && qualityLadder.isLowPriorityPaused()) {
+                tick++;
+                return;
+            }
+
+            List<ParticleData> currentParticles;
+            PackedParticleArray currentPacked = null;
+            FrameDeltas.Step frameStep = null;
+            if (isAnimatedModel) {
+                com.winss.dustlab.media.AnimatedModel animatedModel = (com.winss.dustlab.media.AnimatedModel) model;
+                com.winss.dustlab.media.FrameData currentFrame = animatedModel.isTickAligned()
+                    ? animatedModel.getFrameAtTick(tick)
+                    : animatedModel.getFrameAtTime(System.currentTimeMillis() - startMs);
+                // Per-frame emission gating: only emit when frame index advances or on first tick.
+                // With delta emission, ticks between frame switches still carry the staggered refresh.
+                // Effects move every particle each tick, so effected playback always sends whole frames.
+                if (currentFrame != null) {
+                    FrameDeltas deltas = config.isMediaDeltaEmissionEnabled() && (effects == null || !effects.hasEffects())
+                        ? animatedModel.getFrameDeltas() : null;
+                    int frameIndex = currentFrame.getFrameIndex();
+                    if (frameIndex == lastFrameIndex) {
+                        if (deltas == null) {
                             tick++;
                             return;
                         }
-                        lastFrameIndex = frameIndex;
-                        currentParticles = currentFrame.getParticles();
+                        frameStep = deltas.refreshOnly();
+                    } else if (deltas != null) {
+                        frameStep = deltas.step(lastFrame, currentFrame);
+                    }
+                    lastFrameIndex = frameIndex;
+                    lastFrame = currentFrame;
+                    currentParticles = currentFrame.getParticles();
+                    currentPacked = currentFrame.getPackedParticles();
+                } else {
+                    currentParticles = Collections.emptyList();
+                }
+            } else {
+                currentParticles = model.getParticles() != null ? model.getParticles() : Collections.emptyList();
+                if (model.hasPackedParticles()) {
+                    currentPacked = model.getPackedParticles();
+                }
+            }
+
+            if (!currentParticles.isEmpty()) {
+                processParticlesSimple(currentParticles, currentPacked, transformsFor(currentPacked), frameStep, location, effects, tick,
+                    lifetimeSeconds, maxTicks, effectKey, isAnimatedModel);
+            }
 
+            tick++;
+        }
+
+        // Parks once no player is near enough to wake it again: straight away when the anchor chunk is unloaded,
+        // otherwise after idle-seconds
+        private boolean shouldPark() {
+            dormancyCountdown = DORMANCY_CHECK_TICKS;
+            World world = location.getWorld();
+            if (world == null) {
+                return false;
+            }
+            if (viewerSnapshot.anyWithin(location, visibleRadius() + DormantEffects.WAKE_MARGIN)) {
+                idleChecks = 0;
+                return false;
+            }
+            parkUntilChunkLoads = !world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+            return parkUntilChunkLoads || ++idleChecks * DORMANCY_CHECK_TICKS >= config.getDormancyIdleSeconds() * 20;
+        }
+
+        private void park() {
+            parkedAtLoopTick = renderLoop.getLoopTick();
+            idleChecks = 0;
+            transformGroup = null;
+            // A woken animation starts with a whole frame
+            lastFrameIndex = -1;
+            lastFrame = null;
+            renderLoop.park(active.handle);
+            dormantEffects.park(this, location, visibleRadius(), parkUntilChunkLoads);
+        }
+
+        void wake() {
+            if (activeEffects.get(effectId) == active) {
+                renderLoop.wake(active.handle);
+            }
+        }
+
+        // Dormant sweep: true (and cleaned up) when the effect was stopped or ran out while parked
+        boolean endedWhileParked() {
+            RenderLoop.Handle handle = active.handle;
+            if (handle.isCancelled() || !handle.isParked()) {
+                return true;
+            }
+            if (activeEffects.get(effectId) != active) {
+                handle.cancel();
+                return true;
+            }
+            EffectInfo currentEffect = active.info;
+            long timeline = tick + (renderLoop.getLoopTick() - parkedAtLoopTick);
+            if (currentEffect.hasExpired() || (timeline >= maxTicks && lifetimeSeconds == 0)) {
+                finishEffect(active);
+                return true;
+            }
+            return false;
+        }
+
+        // Furthest distance this effect can be seen from; animated frames vary, so they get the widest bound
+        private double visibleRadius() {
+            if (!isAnimatedModel && model.hasPackedParticles()) {
+                return cullRadius(MAX_RENDER_DISTANCE, model.getPackedParticles(), effects);
+            }
+            return MAX_RENDER_DISTANCE + MAX_CULL_EXTENT;
+        }
+
+        // Static packed models with effects get a transform buffer shared with every other instance in step with this one.
+        // A lone instance only uses it when large enough to be worth the worker; a group uses it unless its cycle is
+        // already tabled per phase, since then the offsets are computed once either way.
+        private TransformBuffer transformsFor(PackedParticleArray packed) {
+            if (isAnimatedModel || packed == null || settingsKey == null || !config.isAsyncTransformsEnabled()) {
+                transformGroup = null;
+                return null;
+            }
+            long loopTick = renderLoop.getLoopTick();
+            long phase = tick - loopTick;
+            if (transformGroup == null || !transformGroup.matches(packed, phase)) {
+                transformGroup = transformGroups.join(packed, settingsKey, phase);
+            }
+            transformGroup.touch(loopTick);
+            if (packed.size() >= config.getAsyncTransformsMinParticles()
+                    || (transformGroup.isShared() && !transformGroup.isPeriodic())) {
+                return transformGroup.buffer();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Playback state for one player-attached effect instance. Runs once per tick on the shared {@link RenderLoop}.
+     */
+    private final class PlayerEffectRenderer implements Runnable {
+        private final ActiveEffect active;
+        private final String effectKey;
+        private final int effectId;
+        private final ParticleModel model;
+        private final Player player;
+        private final int lifetimeSeconds;
+        private final ParticleEffects.EffectSettings effects;
+        private final boolean onlyWhenStill;
+        private final boolean forceVisible;
+        private final int maxTicks;
+        private final boolean isAnimatedModel;
+        private final long startMs;
+        private Location lastLocation;
+        private int tick = 0;
+        private int lastFrameIndex = -1;
+        private int lastFrameChangeTick = 0;
+        private int refreshTicks = -1;
+
+        PlayerEffectRenderer(ActiveEffect active, ParticleModel model, Player player, int lifetimeSeconds,
+                             ParticleEffects.EffectSettings effects, boolean onlyWhenStill, boolean forceVisible) {
+            this.active = active;
+            this.effectKey = active.key;
+            this.effectId = active.info.id;
+            this.model = model;
+            this.player = player;
+            this.lifetimeSeconds = lifetimeSeconds;
+            this.effects = effects;
+            this.onlyWhenStill = onlyWhenStill;
+            this.forceVisible = forceVisible;
+            this.maxTicks = Math.max(model.getDuration(), getMaxParticleDelay(model) + 60);
+            this.isAnimatedModel = model instanceof com.winss.dustlab.media.AnimatedModel;
+            this.startMs = System.currentTimeMillis();
+            this.lastLocation = player.getLocation().clone();
+        }
+
+        @Override
+        public void run() {
+            if (activeEffects.get(effectId) != active) {
+                active.handle.cancel();
+                return;
+            }
+            EffectInfo currentEffect = active.info;
+
+            if (!player.isOnline() || currentEffect.hasExpired() || (tick >= maxTicks && lifetimeSeconds == 0)) {
+                finishEffect(active);
+                return;
+            }
+
+            Location currentLocation = player.getLocation();
+            boolean shouldShow = true;
+            boolean isMoving = false;
+
+            if (onlyWhenStill) {
+                double distance = lastLocation.distance(currentLocation);
+                shouldShow = distance < 0.1;
+                isMoving = distance >= 0.05;
+            } else {
+                double distance = lastLocation.distance(currentLocation);
+                isMoving = distance >= 0.05;
+            }
+
+            lastLocation = currentLocation.clone();
+
+            List<ParticleData> currentParticles;
+            PackedParticleArray currentPacked = null;
+            boolean emitThisTick = true;
+            if (isAnimatedModel) {
+                com.winss.dustlab.media.AnimatedModel animatedModel = (com.winss.dustlab.media.AnimatedModel) model;
+                com.winss.dustlab.media.FrameData currentFrame = animatedModel.isTickAligned()
+                    ? animatedModel.getFrameAtTick(tick)
+                    : animatedModel.getFrameAtTime(System.currentTimeMillis() - startMs);
+                if (currentFrame != null) {
+                    int frameIndex = currentFrame.getFrameIndex();
+                    if (frameIndex != lastFrameIndex) {
+                        lastFrameIndex = frameIndex;
+                        lastFrameChangeTick = tick;
+                        emitThisTick = true;
+                    } else if (trackedRefreshTicks(animatedModel) > 0) {
+                        // The optimizer sends only what changed or is due for a refresh, so it runs every tick
+                        emitThisTick = true;
                     } else {
-                        currentParticles = new ArrayList<>();
+                        int lifespan = Math.max(1, config.getMediaParticleLifespanTicks());
+                        emitThisTick = (tick - lastFrameChangeTick) < lifespan;
                     }
+                    currentParticles = currentFrame.getParticles();
+                    currentPacked = currentFrame.getPackedParticles();
                 } else {
-                    currentParticles = model.getParticles() != null ? model.getParticles() : new ArrayList<>();
+                    currentParticles = Collections.emptyList();
+                    emitThisTick = false;
+                }
+            } else {
+                currentParticles = model.getParticles() != null ? model.getParticles() : Collections.emptyList();
+                if (model.hasPackedParticles()) {
+                    currentPacked = model.getPackedParticles();
                 }
+            }
 
-                if (!currentParticles.isEmpty()) {
-                    processParticlesSimple(currentParticles, null, location, effects, tick, lifetimeSeconds, maxTicks, effectKey, isAnimatedModel);
+            if (shouldShow && emitThisTick && !currentParticles.isEmpty()) {
+                boolean shouldSpawnThisTick = true;
+                if (isMoving) {
+                    shouldSpawnThisTick = (tick % 2 == 0);
                 }
 
-                tick++;
+                if (shouldSpawnThisTick) {
+                    int refresh = isAnimatedModel ? trackedRefreshTicks((AnimatedModel) model) : 0;
+                    processParticlesForPlayer(currentParticles, currentPacked, player, currentLocation, effects, tick, lifetimeSeconds, maxTicks, forceVisible, effectKey, isAnimatedModel, refresh);
+                }
             }
-        }, 0L, tickRate);
 
-        activeEffects.put(effectKey, task);
-        return effectId;
+            tick++;
+        }
+
+        /**
+         * Refresh cadence for change-tracked animated playback, or 0 to send whole frames. Tracking is off with
+         * effects, which move every particle each tick anyway.
+         */
+        private int trackedRefreshTicks(AnimatedModel animatedModel) {
+            if (!config.isMediaDeltaEmissionEnabled() || (effects != null && effects.hasEffects())) {
+                return 0;
+            }
+            if (refreshTicks < 0) {
+                FrameDeltas deltas = animatedModel.getFrameDeltas();
+                refreshTicks = deltas != null ? deltas.refreshOnly().refreshTicks() : 0;
+            }
+            return refreshTicks;
+        }
+    }
+
+    // Drops every reference to a finished effect and unregisters it from the render loop
+    private void finishEffect(ActiveEffect active) {
+        activeEffects.remove(active.info.id, active);
+        effectAnchors.remove(active);
+        particleOptimizer.removeEffect(active.key);
+        active.handle.cancel();
     }
     
 
@@ -2040,14 +1807,15 @@ public class ParticleModelManager {
     private void processParticlesSimple(List<ParticleData> particles, List<ParticleData> previousParticles, Location baseLocation,
                                        ParticleEffects.EffectSettings effects, int tick,
                                        int lifetimeSeconds, int maxTicks, String effectId, boolean isAnimated) {
-        processParticlesSimple(particles, null, previousParticles, baseLocation, effects, tick, lifetimeSeconds, maxTicks, effectId, isAnimated);
+        processParticlesSimple(particles, null, null, null, baseLocation, effects, tick, lifetimeSeconds, maxTicks, effectId, isAnimated);
     }
 
-    private void processParticlesSimple(List<ParticleData> particles, PackedParticleArray packedParticles,
-                                       List<ParticleData> previousParticles, Location baseLocation,
+    private void processParticlesSimple(List<ParticleData> particles, PackedParticleArray packedParticles, TransformBuffer transforms,
+                                       FrameDeltas.Step frameStep, Location baseLocation,
                                        ParticleEffects.EffectSettings effects, int tick,
                                        int lifetimeSeconds, int maxTicks, String effectId, boolean isAnimated) {
-        Collection<Player> viewers = collectViewers(baseLocation, false);
+        double viewRadius = cullRadius(MAX_RENDER_DISTANCE, packedParticles, effects);
+        Collection<Player> viewers = collectViewers(effectId, baseLocation, viewRadius, false);
         if (viewers.isEmpty()) {
             return;
         }
@@ -2056,7 +1824,220 @@ public class ParticleModelManager {
         if (particleCount == 0) {
             return;
         }
+        boolean throttled = !isAnimated && isThrottledTick(tick,
+            emitsOnEvenTicksOnly(effects) ? 2 : staticRefreshTicks(packedParticles, effects));
+        boolean burst = wantsNewViewerBurst(packedParticles, effects, frameStep, isAnimated);
+        if (throttled && !burst) {
+            return;
+        }
 
+        if (!throttled && !(emitsOnEvenTicksOnly(effects) && tick % 2 != 0)) {
+            if (transforms != null) {
+                int emitStep = (emitsOnEvenTicksOnly(effects) ? 2 : 1) * (isAnimated ? 1 : qualityLadder.getStaticIntervalMultiplier());
+                activeTransformFrame = transforms.acquire(tick, tick + emitStep);
+            } else if (packedParticles != null && !isAnimated && effects != null) {
+                // Small static models replay cached per-particle offsets once their effect cycle has been seen
+                EffectTrajectory cycle = trajectoryFor(effects);
+                activeTransformFrame = cycle != null ? cycle.offsetsAt(packedParticles, tick) : null;
+            }
+        }
+        // Static models only: every animation frame is its own array, and clustering each one would queue a build per
+        // frame and let the particles a distant viewer keeps jump around from frame to frame
+        if (packedParticles != null && !isAnimated && config.isLodEnabled()) {
+            assignViewerLevels(packedParticles, viewers.size());
+        }
+        particleBudget.open(viewerSnapshot.lastQueryWeight());
+        try {
+            if (burst) {
+                emitNewViewerBurst(particles, packedParticles, baseLocation, viewers, effects, tick, lifetimeSeconds, maxTicks, isAnimated);
+            }
+            if (throttled) {
+                return;
+            }
+            if (frameStep != null && !frameStep.isFullFrame() && packedParticles != null) {
+                emitFrameDelta(packedParticles, frameStep, baseLocation, viewers, effects, tick);
+            } else {
+                emitParticlesSimple(particles, packedParticles, baseLocation, viewers, effects, tick, lifetimeSeconds, maxTicks, isAnimated, particleCount);
+            }
+        } finally {
+            particleBudget.close();
+            activeTransformFrame = null;
+            activeViewerLevels = null;
+            activeMaxViewerLevel = DetailLevels.FULL;
+        }
+    }
+
+    /**
+     * True when viewers that just came into range should get the whole model now: static models without moving
+     * effects and animations sent as deltas only re-send each particle every few ticks, so a newcomer would
+     * otherwise see the model fill in over a refresh period.
+     */
+    private boolean wantsNewViewerBurst(PackedParticleArray packedParticles, ParticleEffects.EffectSettings effects,
+                                        FrameDeltas.Step frameStep, boolean isAnimated) {
+        if (viewerSnapshot.lastQueryNewcomerCount() == 0 || !config.isNewViewerBurstEnabled()) {
+            return false;
+        }
+        if (isAnimated) {
+            return frameStep != null && !frameStep.isFullFrame() && packedParticles != null;
+        }
+        return staticRefreshTicks(packedParticles, effects) > 1;
+    }
+
+    /**
+     * Sends every particle showing right now to the viewers new to this effect this tick, at their level of detail.
+     */
+    private void emitNewViewerBurst(List<ParticleData> particles, PackedParticleArray packedParticles, Location baseLocation,
+                                    Collection<Player> viewers, ParticleEffects.EffectSettings effects, int tick,
+                                    int lifetimeSeconds, int maxTicks, boolean isAnimated) {
+        int[] positions = viewerSnapshot.lastQueryNewcomers();
+        int count = viewerSnapshot.lastQueryNewcomerCount();
+        int[] viewerLevels = activeViewerLevels;
+        List<Player> newcomers = new ArrayList<>(count);
+        int[] newcomerLevels = viewerLevels != null ? new int[count] : null;
+        int j = 0;
+        int k = 0;
+        for (Player viewer : viewers) {
+            if (k < count && positions[k] == j) {
+                if (newcomerLevels != null) {
+                    newcomerLevels[k] = viewerLevels[j];
+                }
+                newcomers.add(viewer);
+                k++;
+            }
+            j++;
+        }
+        int emitTick = isAnimated ? Integer.MAX_VALUE
+            : ClientLifetime.staticEmitTick(tick, lifetimeSeconds, maxTicks, staticRefreshTicks(packedParticles, effects));
+        if (newcomers.isEmpty() || emitTick < 0) {
+            return;
+        }
+
+        activeViewerLevels = newcomerLevels;
+        try {
+            if (packedParticles != null) {
+                ParticleData reusable = new ParticleData();
+                for (int i = 0; i < packedParticles.size(); i++) {
+                    if (particleBudget.isExhausted()) return;
+                    if (packedParticles.getDelay(i) <= emitTick) {
+                        emitPackedParticle(packedParticles, reusable, i, baseLocation, newcomers, effects, tick, isAnimated);
+                    }
+                }
+                return;
+            }
+            for (ParticleData particle : particles) {
+                if (particleBudget.isExhausted()) return;
+                if (particle != null && particle.getDelay() <= emitTick) {
+                    spawnParticleWithEffects(particle, baseLocation, newcomers, effects, tick, false);
+                }
+            }
+        } finally {
+            activeViewerLevels = viewerLevels;
+        }
+    }
+
+    /**
+     * Re-send period for a static model's standing particles. Moving effects change every particle each tick;
+     * otherwise a particle is re-sent just before the client lets it fade, which depends on its scale.
+     */
+    private int staticRefreshTicks(PackedParticleArray packedParticles, ParticleEffects.EffectSettings effects) {
+        if (effects != null && effects.hasEffects()) {
+            return 1;
+        }
+        if (packedParticles == null || !config.isLifetimeRefreshEnabled()) {
+            return STATIC_SPAWN_INTERVAL;
+        }
+        return ClientLifetime.dustRefreshTicks(packedParticles.getPalette().getMinScale());
+    }
+
+    /**
+     * Picks each viewer's level of detail from their distance to the model's outer extent.
+     * Leaves full detail in place when every viewer is close, or while the levels are still being built.
+     */
+    private void assignViewerLevels(PackedParticleArray packedParticles, int viewerCount) {
+        DetailLevels levels = detailLevelsFor(packedParticles);
+        if (levels == null) {
+            return;
+        }
+        double[] distances = viewerSnapshot.lastQueryDistances();
+        double extent = packedParticles.getStats().originRadius();
+        if (viewerLevelScratch.length < viewerCount) {
+            viewerLevelScratch = new int[Math.max(viewerCount, viewerLevelScratch.length * 2)];
+        }
+        int maxLevel = 0;
+        for (int j = 0; j < viewerCount; j++) {
+            double surface = Math.max(0.0D, distances[j] - extent);
+            int level;
+            if (surface < config.getLodFullDetailDistance()) {
+                level = DetailLevels.FULL;
+            } else if (surface < config.getLodHalfDetailDistance()) {
+                level = 2;
+            } else if (surface < config.getLodQuarterDetailDistance()) {
+                level = 1;
+            } else {
+                level = 0;
+            }
+            level = Math.max(0, level - qualityLadder.getDetailLevelShift());
+            viewerLevelScratch[j] = level;
+            maxLevel = Math.max(maxLevel, level);
+        }
+        if (maxLevel == DetailLevels.FULL && allAtLevel(viewerLevelScratch, viewerCount, DetailLevels.FULL)) {
+            return;
+        }
+        activeViewerLevels = viewerLevelScratch;
+        activeMaxViewerLevel = maxLevel;
+    }
+
+    private static boolean allAtLevel(int[] levels, int count, int level) {
+        for (int j = 0; j < count; j++) {
+            if (levels[j] != level) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Clustering a large model takes a moment, so it runs off the main thread; until then, or if it failed,
+    // the model is sent in full
+    private DetailLevels detailLevelsFor(PackedParticleArray packedParticles) {
+        DetailLevels levels = packedParticles.getDetailLevelsIfBuilt();
+        if (levels == null && !detailLevelFailures.contains(packedParticles) && detailLevelBuilds.add(packedParticles)) {
+            java.util.concurrent.CompletableFuture.runAsync(() -> {
+                try {
+                    packedParticles.detailLevels();
+                } catch (Exception | OutOfMemoryError e) {
+                    detailLevelFailures.add(packedParticles);
+                    plugin.getLogger().warning("Failed to build levels of detail for a " + packedParticles.size()
+                        + "-particle model, sending it in full: " + e);
+                } finally {
+                    detailLevelBuilds.remove(packedParticles);
+                }
+            });
+        }
+        return levels;
+    }
+
+    /**
+     * Animated frame as a delta: the particles that changed since the previous frame, then the slice of
+     * the frame whose staggered refresh falls on this tick, so every particle is re-sent once per refresh period.
+     */
+    private void emitFrameDelta(PackedParticleArray packedParticles, FrameDeltas.Step frameStep, Location baseLocation,
+                                Collection<Player> viewers, ParticleEffects.EffectSettings effects, int tick) {
+        int refresh = frameStep.refreshTicks();
+        ParticleData reusable = new ParticleData();
+        for (int i : frameStep.changed()) {
+            if (particleBudget.isExhausted()) return;
+            emitPackedParticle(packedParticles, reusable, i, baseLocation, viewers, effects, tick, true);
+        }
+        for (int i = Math.floorMod(-tick, refresh); i < packedParticles.size(); i += refresh) {
+            if (particleBudget.isExhausted()) return;
+            emitPackedParticle(packedParticles, reusable, i, baseLocation, viewers, effects, tick, true);
+        }
+    }
+
+    private void emitParticlesSimple(List<ParticleData> particles, PackedParticleArray packedParticles,
+                                     Location baseLocation, Collection<Player> viewers,
+                                     ParticleEffects.EffectSettings effects, int tick,
+                                     int lifetimeSeconds, int maxTicks, boolean isAnimated, int particleCount) {
         ParticleData reusableParticle = packedParticles != null ? new ParticleData() : null;
         
         int veryLargeThreshold = getVeryLargeModelThreshold();
@@ -2076,113 +2057,91 @@ public class ParticleModelManager {
         }
 
         // Animated: draw the complete frame snapshot this tick (no sampling)
+        int rotation = budgetRotationStart(tick, particleCount);
         if (isAnimated) {
-            for (int i = 0; i < particleCount; i++) {
-                ParticleData particle;
+            for (int n = 0; n < particleCount; n++) {
+                if (particleBudget.isExhausted()) break;
+                int i = n + rotation;
+                if (i >= particleCount) i -= particleCount;
                 if (packedParticles != null) {
-                    packedParticles.copyInto(i, reusableParticle);
-                    particle = reusableParticle;
+                    emitPackedParticle(packedParticles, reusableParticle, i, baseLocation, viewers, effects, tick, true);
                 } else {
-                    particle = particles.get(i);
+                    ParticleData particle = particles.get(i);
+                    if (particle == null) continue;
+                    spawnParticleWithEffects(particle, baseLocation, viewers, effects, tick, true);
                 }
-                if (particle == null) continue;
-                ParticleData prev = (previousParticles != null && i < previousParticles.size()) ? previousParticles.get(i) : null;
-                spawnParticleWithEffects(particle, prev, baseLocation, viewers, effects, tick, true);
             }
             return;
         }
 
-        // Static/non-animated: original scheduling with per-particle delays
-        for (int i = 0; i < particleCount; i++) {
-            ParticleData particle;
-            if (packedParticles != null) {
-                packedParticles.copyInto(i, reusableParticle);
-                particle = reusableParticle;
-            } else {
-                particle = particles.get(i);
-            }
-            if (particle == null) continue;
-
-            boolean shouldSpawn = false;
-
-            if (lifetimeSeconds == -1) {
-                int cycleLength = Math.max(maxTicks, 100);
-                int cycleTick = tick % cycleLength;
+        // Static/non-animated: particle i re-emits every spawnInterval ticks once its delay has passed
+        int spawnInterval = staticRefreshTicks(packedParticles, effects);
+        int emitTick = ClientLifetime.staticEmitTick(tick, lifetimeSeconds, maxTicks, spawnInterval);
+        if (emitTick < 0) {
+            return;
+        }
 
-                if (cycleTick >= particle.getDelay()) {
-                    int spawnInterval = effects != null ? 1 : 3;
-                    if ((cycleTick - particle.getDelay()) % spawnInterval == 0) {
-                        shouldSpawn = true;
-                    }
-                }
-            } else {
-                if (tick >= particle.getDelay() && (lifetimeSeconds > 0 || tick < maxTicks)) {
-                    int spawnInterval = effects != null ? 1 : 3;
-                    if ((tick - particle.getDelay()) % spawnInterval == 0) {
-                        shouldSpawn = true;
-                    }
-                }
+        if (packedParticles != null) {
+            // Only the due prefix of this tick's phase group is visited
+            DelayIndex delayIndex = packedParticles.delayIndex(spawnInterval);
+            int[] due = delayIndex.indicesFor(emitTick);
+            int ready = delayIndex.readyCount(emitTick);
+            int dueRotation = budgetRotationStart(tick, ready);
+            for (int n = 0; n < ready; n++) {
+                if (particleBudget.isExhausted()) break;
+                int k = n + dueRotation;
+                if (k >= ready) k -= ready;
+                emitPackedParticle(packedParticles, reusableParticle, due[k], baseLocation, viewers, effects, tick, false);
             }
+            return;
+        }
 
-            if (shouldSpawn) {
+        for (int n = 0; n < particleCount; n++) {
+            if (particleBudget.isExhausted()) break;
+            int i = n + rotation;
+            if (i >= particleCount) i -= particleCount;
+            ParticleData particle = particles.get(i);
+            if (particle == null) continue;
+
+            if (emitTick >= particle.getDelay() && (emitTick - particle.getDelay()) % spawnInterval == 0) {
                 spawnParticleWithEffects(particle, baseLocation, viewers, effects, tick);
             }
         }
     }
-    
+
     private void processLargeModelWithPersistence(List<ParticleData> particles, PackedParticleArray packedParticles,
                                                 Location baseLocation, Collection<Player> viewers, ParticleEffects.EffectSettings effects, int tick,
                                                 int lifetimeSeconds, int maxTicks) {
         
-        int particleCount = packedParticles != null ? packedParticles.size() : particles.size();
-        ParticleData reusable = packedParticles != null ? new ParticleData() : null;
-        
-        int fadeInDuration = 60;
-        int particlesPerTick = Math.max(1, particleCount / fadeInDuration);
-        int maxVisibleParticles = Math.min(particleCount, (tick + 1) * particlesPerTick);
-        
-        int baseOutlineInterval = Math.max(1, particleCount / 100); 
-        
-        for (int i = 0; i < particleCount; i++) {
-            ParticleData particle;
-            if (packedParticles != null) {
-                packedParticles.copyInto(i, reusable);
-                particle = reusable;
-            } else {
-                particle = particles.get(i);
-            }
-            if (particle == null) continue;
-            
-            boolean shouldSpawn = false;
-            boolean isBaseOutline = (i % baseOutlineInterval == 0);
-            boolean isWithinFadeIn = (i < maxVisibleParticles);
-            
-            if (lifetimeSeconds == -1) { 
-                int cycleLength = Math.max(maxTicks, 100);
-                int cycleTick = tick % cycleLength;
-                
-                if (cycleTick >= particle.getDelay()) {
-                    if (isBaseOutline) {
-                        shouldSpawn = true;
-                    }
-                    else if (isWithinFadeIn && (tick % 2 == 0)) {
-                        shouldSpawn = true;
-                    }
-                }
-            } else {
-                if (tick >= particle.getDelay() && (lifetimeSeconds > 0 || tick < maxTicks)) {
-                    if (isBaseOutline) {
-                        shouldSpawn = true;
-                    } else if (isWithinFadeIn && (tick % 2 == 0)) {
-                        shouldSpawn = true;
-                    }
-                }
-            }
-            
-            if (shouldSpawn) {
-                spawnParticleWithEffects(particle, baseLocation, viewers, effects, tick);
-            }
+        int particleCount = packedParticles != null ? packedParticles.size() : particles.size();
+        ParticleData reusable = packedParticles != null ? new ParticleData() : null;
+        int refresh = staticRefreshTicks(packedParticles, effects);
+        int emitTick = ClientLifetime.staticEmitTick(tick, lifetimeSeconds, maxTicks, refresh);
+        if (emitTick < 0) {
+            return;
+        }
+        
+        int fadeInDuration = 60;
+        int particlesPerTick = Math.max(1, particleCount / fadeInDuration);
+        int maxVisibleParticles = Math.min(particleCount, (tick + 1) * particlesPerTick);
+        
+        // Progressive arrays (the streaming loader's static models) cover the whole shape with their first particles.
+        // List-backed and authored-order arrays still need a stride across the whole model.
+        boolean progressive = packedParticles != null && packedParticles.isProgressive();
+        int baseOutlineSize = progressive ? Math.min(particleCount, 100) : 0;
+        int baseOutlineInterval = progressive ? 0 : Math.max(1, particleCount / 100);
+        
+        // Base outline: the progressive prefix, or every baseOutlineInterval-th particle, each re-sent once per
+        // client lifetime with the outline spread over the refresh period
+        if (!emitOutlineIfDue(particles, packedParticles, reusable, progressive ? baseOutlineSize : particleCount,
+                progressive ? 1 : baseOutlineInterval, refresh, emitTick, baseLocation, viewers, effects, tick)) {
+            return;
         }
+        
+        // Fade-in body: the first maxVisibleParticles not already in the outline, on the same cadence but never
+        // more often than every other tick
+        emitRangeIfDue(particles, packedParticles, reusable, baseOutlineSize, maxVisibleParticles, Math.max(2, refresh),
+            baseOutlineInterval, -1, -1, emitTick, baseLocation, viewers, effects, tick);
     }
     
     /**
@@ -2194,9 +2153,19 @@ public class ParticleModelManager {
         
         int particleCount = packedParticles != null ? packedParticles.size() : particles.size();
         ParticleData reusable = packedParticles != null ? new ParticleData() : null;
+        int refresh = staticRefreshTicks(packedParticles, effects);
+        int emitTick = ClientLifetime.staticEmitTick(tick, lifetimeSeconds, maxTicks, refresh);
+        if (emitTick < 0) {
+            return;
+        }
         
+        // Progressive arrays: the skeleton is the prefix and the rest is cut into sections, each an even subsample
+        // of the shape. Authored-order models (lists, animation bases) keep the stride skeleton and index bands.
+        boolean progressive = packedParticles != null && packedParticles.isProgressive();
+        int skeletonSize = progressive ? Math.min(particleCount, 150) : 0;
+        int persistentInterval = progressive ? 0 : Math.max(1, particleCount / 150);
         int maxParticlesPerSection = 2000;
-        int totalSections = (int) Math.ceil((double) particleCount / maxParticlesPerSection);
+        int totalSections = Math.max(1, (int) Math.ceil((double) (particleCount - skeletonSize) / maxParticlesPerSection));
         
         int sectionRotationSpeed = 8; 
         int currentSection = (tick / sectionRotationSpeed) % totalSections;
@@ -2207,84 +2176,85 @@ public class ParticleModelManager {
         boolean isInTransition = (tickInCycle >= sectionRotationSpeed - transitionTicks);
         int nextSection = (currentSection + 1) % totalSections;
         
-        int currentSectionStart = currentSection * maxParticlesPerSection;
+        int currentSectionStart = skeletonSize + currentSection * maxParticlesPerSection;
         int currentSectionEnd = Math.min(currentSectionStart + maxParticlesPerSection, particleCount);
-        int nextSectionStart = nextSection * maxParticlesPerSection;
+        int nextSectionStart = skeletonSize + nextSection * maxParticlesPerSection;
         int nextSectionEnd = Math.min(nextSectionStart + maxParticlesPerSection, particleCount);
         
-        int persistentInterval = Math.max(1, particleCount / 150); 
+        // Persistent skeleton across the whole model, re-sent once per client lifetime
+        if (!emitOutlineIfDue(particles, packedParticles, reusable, progressive ? skeletonSize : particleCount,
+                progressive ? 1 : persistentInterval, refresh, emitTick, baseLocation, viewers, effects, tick)) {
+            return;
+        }
         
-        for (int i = 0; i < particleCount; i++) {
-            ParticleData particle;
-            if (packedParticles != null) {
-                packedParticles.copyInto(i, reusable);
-                particle = reusable;
-            } else {
-                particle = particles.get(i);
-            }
-            if (particle == null) continue;
-            
-            boolean shouldSpawn = false;
-            boolean isInCurrentSection = (i >= currentSectionStart && i < currentSectionEnd);
-            boolean isInNextSection = (i >= nextSectionStart && i < nextSectionEnd);
-            boolean isPersistentParticle = (i % persistentInterval == 0);
-            
-            if (lifetimeSeconds == -1) { 
-                int cycleLength = Math.max(maxTicks, 100);
-                int cycleTick = tick % cycleLength;
-                
-                if (cycleTick >= particle.getDelay()) {
-                    if (isPersistentParticle) {
-                        shouldSpawn = true;
-                    }
-                    else if (isInCurrentSection) {
-                        shouldSpawn = true;
-                    }
-                    else if (isInTransition && isInNextSection && (tick % 3 == 0)) {
-                        shouldSpawn = true;
-                    }
-                }
-            } else {
-                if (tick >= particle.getDelay() && (lifetimeSeconds > 0 || tick < maxTicks)) {
-                    if (isPersistentParticle) {
-                        shouldSpawn = true;
-                    } else if (isInCurrentSection) {
-                        shouldSpawn = true;
-                    } else if (isInTransition && isInNextSection && (tick % 3 == 0)) {
-                        shouldSpawn = true;
-                    }
-                }
-            }
-            
-            if (shouldSpawn) {
-                spawnParticleWithEffects(particle, baseLocation, viewers, effects, tick);
-            }
+        // Sections are a rotating sample rather than standing particles, so they are sent every tick of their window
+        emitRangeIfDue(particles, packedParticles, reusable, currentSectionStart, currentSectionEnd, 1, persistentInterval, -1, -1,
+            emitTick, baseLocation, viewers, effects, tick);
+        
+        if (isInTransition && (tick % 3 == 0)) {
+            emitRangeIfDue(particles, packedParticles, reusable, nextSectionStart, nextSectionEnd, 1, persistentInterval,
+                currentSectionStart, currentSectionEnd, emitTick, baseLocation, viewers, effects, tick);
         }
     }
 
-    private Collection<Player> collectViewers(Location origin, boolean forceVisible) {
-        return collectViewers(origin, MAX_RENDER_DISTANCE, forceVisible);
+    // Emits particle i if its delay has passed at emitTick
+    private void emitIfDue(List<ParticleData> particles, PackedParticleArray packedParticles, ParticleData reusable, int i,
+                           int emitTick, Location baseLocation, Collection<Player> viewers, ParticleEffects.EffectSettings effects, int tick) {
+        if (packedParticles != null) {
+            if (packedParticles.getDelay(i) > emitTick) return;
+            emitPackedParticle(packedParticles, reusable, i, baseLocation, viewers, effects, tick, false);
+        } else {
+            ParticleData particle = particles.get(i);
+            if (particle == null || particle.getDelay() > emitTick) return;
+            spawnParticleWithEffects(particle, baseLocation, viewers, effects, tick);
+        }
     }
 
-    private Collection<Player> collectViewers(Location origin, double radius, boolean forceVisible) {
-        if (origin == null) {
-            return Collections.emptyList();
-        }
-        World world = origin.getWorld();
-        if (world == null) {
-            return Collections.emptyList();
+    /**
+     * Emits the due outline particles 0, stride, 2 * stride, ... below {@code to} whose place in the outline falls
+     * on this tick's phase of {@code interval}. False once the budget ran out.
+     */
+    private boolean emitOutlineIfDue(List<ParticleData> particles, PackedParticleArray packedParticles, ParticleData reusable,
+                                     int to, int stride, int interval, int emitTick,
+                                     Location baseLocation, Collection<Player> viewers, ParticleEffects.EffectSettings effects, int tick) {
+        for (long i = (long) (emitTick % interval) * stride; i < to; i += (long) interval * stride) {
+            if (particleBudget.isExhausted()) return false;
+            emitIfDue(particles, packedParticles, reusable, (int) i, emitTick, baseLocation, viewers, effects, tick);
         }
-        Collection<Player> nearby = world.getNearbyPlayers(origin, radius);
-        if (nearby.isEmpty()) {
-            return Collections.emptyList();
+        return true;
+    }
+
+    /**
+     * Emits the due particles in [from, to) on this tick's phase of {@code interval}, so each is sent once per
+     * interval. Skips stride multiples (already sent with the outline) when skipStride is positive, and anything
+     * inside [excludeFrom, excludeTo). Starts at a budget-dependent offset so truncation rotates.
+     */
+    private void emitRangeIfDue(List<ParticleData> particles, PackedParticleArray packedParticles, ParticleData reusable,
+                                int from, int to, int interval, int skipStride, int excludeFrom, int excludeTo,
+                                int emitTick, Location baseLocation, Collection<Player> viewers, ParticleEffects.EffectSettings effects, int tick) {
+        int first = from + Math.floorMod(emitTick - from, interval);
+        if (first >= to) {
+            return;
         }
-        List<Player> viewers = new ArrayList<>(nearby.size());
-        for (Player viewer : nearby) {
-            if (forceVisible || canSeeParticles(viewer)) {
-                viewers.add(viewer);
-            }
+        int length = (to - first + interval - 1) / interval;
+        int rotation = budgetRotationStart(tick, length);
+        for (int n = 0; n < length; n++) {
+            if (particleBudget.isExhausted()) return;
+            int k = n + rotation;
+            if (k >= length) k -= length;
+            int i = first + k * interval;
+            if ((skipStride > 0 && i % skipStride == 0) || (i >= excludeFrom && i < excludeTo)) continue;
+            emitIfDue(particles, packedParticles, reusable, i, emitTick, baseLocation, viewers, effects, tick);
         }
-        return viewers;
+    }
+
+    private Collection<Player> collectViewers(Location origin, boolean forceVisible) {
+        return collectViewers(null, origin, MAX_RENDER_DISTANCE, forceVisible);
+    }
+
+    // Served from the per-tick snapshot; effectKey enables edge hysteresis for that effect
+    private Collection<Player> collectViewers(String effectKey, Location origin, double radius, boolean forceVisible) {
+        return viewerSnapshot.query(effectKey, origin, radius, forceVisible);
     }
     
     public int playModel(String modelName, Location location) {
@@ -2292,19 +2262,35 @@ public class ParticleModelManager {
     }
 
     private int getMaxParticleDelay(ParticleModel model) {
-        int maxDelay = 0;
-        if (model.getParticles() != null) {
-            for (ParticleData particle : model.getParticles()) {
-                if (particle != null && particle.getDelay() > maxDelay) {
-                    maxDelay = particle.getDelay();
-                }
-            }
+        return model.getMaxDelay();
+    }
+
+    /**
+     * Viewer radius measured from the model's outer extent rather than its origin, so large models stay
+     * visible to players near their edges. Effect displacement is added conservatively.
+     */
+    private static double cullRadius(double renderDistance, PackedParticleArray packedParticles, ParticleEffects.EffectSettings effects) {
+        double extent = packedParticles != null ? packedParticles.getStats().originRadius() : 0.0D;
+        if (effects != null && effects.hasEffects()) {
+            extent *= (1.0D + Math.abs(effects.oscillationAmplitude)) * (1.0D + Math.abs(effects.pulseAmplitude));
+            extent += effects.bounceHeight + Math.abs(effects.flowAmplitude) + Math.abs(effects.waveAmplitude)
+                + effects.orbitRadius + effects.swirlRadius + Math.abs(effects.spiralExpansion);
         }
-        return maxDelay;
+        return renderDistance + Math.min(extent, MAX_CULL_EXTENT);
     }
     
     private void spawnParticleWithEffects(ParticleData particle, Location baseLocation, Collection<Player> viewers,
                                          ParticleEffects.EffectSettings effects, long tick, boolean isAnimated) {
+        spawnParticleWithEffects(particle, particle.getDustOptions(), null, baseLocation, viewers, effects, tick, isAnimated);
+    }
+
+    /**
+     * @param dustOptions    colour/scale to send; packed models pass their shared palette instance
+     * @param dustTransition matching same-colour transition, or null to build one on demand
+     */
+    private void spawnParticleWithEffects(ParticleData particle, Particle.DustOptions dustOptions, Particle.DustTransition dustTransition,
+                                         Location baseLocation, Collection<Player> viewers,
+                                         ParticleEffects.EffectSettings effects, long tick, boolean isAnimated) {
         if (viewers.isEmpty()) {
             return;
         }
@@ -2314,89 +2300,129 @@ public class ParticleModelManager {
                 return;
             }
 
-            Location particleLocation;
-
+            double x = particle.getX();
+            double y = particle.getY();
+            double z = particle.getZ();
             if (effects != null) {
-                particleLocation = ParticleEffects.applyEffects(particle, baseLocation, effects, tick);
-            } else {
-                double x = particle.getX();
-                double y = particle.getY();
-                double z = particle.getZ();
-                particleLocation = baseLocation.clone().add(x, y, z);
+                applyCompiledEffects(particle, effects, tick);
+                x = effectOffset[0];
+                y = effectOffset[1];
+                z = effectOffset[2];
             }
 
-            Particle.DustOptions dustOptions = particle.getDustOptions();
+            emitEffectParticle(world, baseLocation.getX() + x, baseLocation.getY() + y, baseLocation.getZ() + z,
+                dustOptions, dustTransition, viewers, effects, tick, isAnimated);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error spawning particle: " + e.getMessage());
+        }
+    }
 
-            int particleCount = 1;
-            double offsetX = 0.0, offsetY = 0.0, offsetZ = 0.0;
-            double extra = 0.0;
+    // ParticleEffects.applyEffects with the chain compiled once per effect and tick, or looked up in its cycle table.
+    // Leaves the effected offset in effectOffset, so emitting a particle allocates nothing.
+    private void applyCompiledEffects(ParticleData particle, ParticleEffects.EffectSettings effects, long tick) {
+        EffectTransform transform = compiledEffects;
+        if (transform == null || compiledEffectsSettings != effects || compiledEffectsTick != tick) {
+            EffectTrajectory cycle = trajectoryFor(effects);
+            transform = cycle != null ? cycle.transformAt(tick) : EffectTransform.compile(effects, tick);
+            compiledEffects = transform;
+            compiledEffectsSettings = effects;
+            compiledEffectsTick = tick;
+        }
+        transform.apply(particle.getX(), particle.getY(), particle.getZ(), effectOffset);
+    }
 
-            if (effects != null && (effects.rotationSpeed != 0 || effects.orbitRadius > 0 || effects.spiralExpansion != 0)) {
-                offsetX = 0.01;
-                offsetY = 0.01;
-                offsetZ = 0.01;
-                extra = 0.0;
+    private EffectTrajectory trajectoryFor(ParticleEffects.EffectSettings effects) {
+        if (trajectorySettings != effects) {
+            trajectory = EffectTrajectory.of(effects);
+            trajectorySettings = effects;
+        }
+        return trajectory;
+    }
 
-                if (tick % 2 != 0) {
-                    return;
-                }
+    // Emits packed particle i, taking its effected offset from the active transform frame when there is one
+    private void emitPackedParticle(PackedParticleArray packedParticles, ParticleData reusable, int i, Location baseLocation,
+                                    Collection<Player> viewers, ParticleEffects.EffectSettings effects, long tick, boolean isAnimated) {
+        if (activeViewerLevels != null) {
+            int rank = packedParticles.getDetailLevelsIfBuilt().rank(i);
+            if (rank > activeMaxViewerLevel) {
+                return;
             }
-
-            for (Player player : viewers) {
-                spawnParticleForViewer(player, particleLocation, dustOptions, null, particleCount, offsetX, offsetY, offsetZ, extra, isAnimated);
+            emitDetailRank = rank;
+            try {
+                emitPackedParticleAtRank(packedParticles, reusable, i, baseLocation, viewers, effects, tick, isAnimated);
+            } finally {
+                emitDetailRank = 0;
             }
-        } catch (Exception e) {
-            plugin.getLogger().warning("Error spawning particle: " + e.getMessage());
+            return;
         }
+        emitPackedParticleAtRank(packedParticles, reusable, i, baseLocation, viewers, effects, tick, isAnimated);
     }
 
-    // Overload: includes previous particle for animated transitions
-    private void spawnParticleWithEffects(ParticleData particle, ParticleData previous, Location baseLocation,
-                                         Collection<Player> viewers, ParticleEffects.EffectSettings effects, long tick, boolean isAnimated) {
-        if (viewers.isEmpty()) {
+    private void emitPackedParticleAtRank(PackedParticleArray packedParticles, ParticleData reusable, int i, Location baseLocation,
+                                          Collection<Player> viewers, ParticleEffects.EffectSettings effects, long tick, boolean isAnimated) {
+        TransformBuffer.Frame frame = activeTransformFrame;
+        if (frame == null) {
+            packedParticles.copyInto(i, reusable);
+            spawnParticleWithEffects(reusable, packedParticles.getDustOptions(i), packedParticles.getDustTransition(i),
+                baseLocation, viewers, effects, tick, isAnimated);
+            return;
+        }
+        World world = baseLocation.getWorld();
+        if (viewers.isEmpty() || world == null) {
             return;
         }
         try {
-            World world = baseLocation.getWorld();
-            if (world == null) {
-                return;
-            }
-
-            Location particleLocation;
+            emitEffectParticle(world, baseLocation.getX() + frame.getX(i), baseLocation.getY() + frame.getY(i), baseLocation.getZ() + frame.getZ(i),
+                packedParticles.getDustOptions(i), packedParticles.getDustTransition(i), viewers, effects, tick, isAnimated);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error spawning particle: " + e.getMessage());
+        }
+    }
 
-            if (effects != null) {
-                particleLocation = ParticleEffects.applyEffects(particle, baseLocation, effects, tick);
-            } else {
-                double x = particle.getX();
-                double y = particle.getY();
-                double z = particle.getZ();
-                particleLocation = baseLocation.clone().add(x, y, z);
-            }
+    private void emitEffectParticle(World world, double x, double y, double z, Particle.DustOptions dustOptions, Particle.DustTransition dustTransition,
+                                    Collection<Player> viewers, ParticleEffects.EffectSettings effects, long tick, boolean isAnimated) {
+        int particleCount = 1;
+        double offsetX = 0.0, offsetY = 0.0, offsetZ = 0.0;
+        double extra = 0.0;
 
-            Particle.DustOptions dustOptions = particle.getDustOptions();
-            Particle.DustOptions prevDust = previous != null ? previous.getDustOptions() : null;
+        if (emitsOnEvenTicksOnly(effects)) {
+            offsetX = 0.01;
+            offsetY = 0.01;
+            offsetZ = 0.01;
+            extra = 0.0;
 
-            int particleCount = 1;
-            double offsetX = 0.0, offsetY = 0.0, offsetZ = 0.0;
-            double extra = 0.0;
+            if (tick % 2 != 0) {
+                return;
+            }
+        }
 
-            if (effects != null && (effects.rotationSpeed != 0 || effects.orbitRadius > 0 || effects.spiralExpansion != 0)) {
-                offsetX = 0.01;
-                offsetY = 0.01;
-                offsetZ = 0.01;
-                extra = 0.0;
+        emitToViewers(viewers, world, x, y, z, dustOptions, dustTransition, particleCount, offsetX, offsetY, offsetZ, extra, isAnimated,
+            isAnimated ? ViewerBudget.Priority.HIGH : ViewerBudget.Priority.NORMAL);
+    }
 
-                if (tick % 2 != 0) {
-                    return;
-                }
-            }
+    /**
+     * True when load shedding skips this tick for a static model. Counted in emitting ticks, so
+     * effects that only emit on even ticks are thinned as well.
+     */
+    private boolean isThrottledTick(ParticleEffects.EffectSettings effects, int tick) {
+        return isThrottledTick(tick, emitsOnEvenTicksOnly(effects) ? 2 : 1);
+    }
 
-            for (Player player : viewers) {
-                spawnParticleForViewer(player, particleLocation, dustOptions, prevDust, particleCount, offsetX, offsetY, offsetZ, extra, isAnimated);
-            }
-        } catch (Exception e) {
-            plugin.getLogger().warning("Error spawning particle: " + e.getMessage());
+    /**
+     * Same, skipping whole periods of {@code period} ticks, so a model that spreads its particles over a
+     * refresh period still re-sends every one of them, just less often.
+     */
+    private boolean isThrottledTick(int tick, int period) {
+        int stride = qualityLadder.getStaticIntervalMultiplier();
+        if (stride <= 1) {
+            return false;
         }
+        return (tick / period) % stride != 0;
+    }
+
+    // Moving effects are sent with a small spread on even ticks only
+    private static boolean emitsOnEvenTicksOnly(ParticleEffects.EffectSettings effects) {
+        return effects != null && (effects.rotationSpeed != 0 || effects.orbitRadius > 0 || effects.spiralExpansion != 0);
     }
 
     private void spawnParticleWithEffects(ParticleData particle, Location baseLocation, Collection<Player> viewers,
@@ -2409,26 +2435,46 @@ public class ParticleModelManager {
     private void processParticlesForPlayer(List<ParticleData> particles, Player player, Location playerLocation,
                                          ParticleEffects.EffectSettings effects, int tick,
                                          int lifetimeSeconds, int maxTicks, boolean forceVisible, String effectId, boolean isAnimated) {
-        processParticlesForPlayer(particles, null, player, playerLocation, effects, tick, lifetimeSeconds, maxTicks, forceVisible, effectId, isAnimated);
+        processParticlesForPlayer(particles, null, player, playerLocation, effects, tick, lifetimeSeconds, maxTicks, forceVisible, effectId, isAnimated, 0);
     }
 
+    /**
+     * @param refreshTicks when positive, animated particles go through the change tracker and unchanged ones are
+     *                     only re-sent every refreshTicks ticks; 0 sends every selected particle
+     */
     private void processParticlesForPlayer(List<ParticleData> particles, PackedParticleArray packedParticles, Player player, Location playerLocation,
                                          ParticleEffects.EffectSettings effects, int tick,
-                                         int lifetimeSeconds, int maxTicks, boolean forceVisible, String effectId, boolean isAnimated) {
+                                         int lifetimeSeconds, int maxTicks, boolean forceVisible, String effectId, boolean isAnimated,
+                                         int refreshTicks) {
         
         int particleCount = packedParticles != null ? packedParticles.size() : particles.size();
-        if (particleCount == 0) {
+        if (particleCount == 0 || (!isAnimated && isThrottledTick(effects, tick))) {
             return;
         }
 
-        ParticleData reusable = packedParticles != null ? new ParticleData() : null;
-        
         Location currentPlayerLocation = player.getLocation();
-        Collection<Player> viewers = collectViewers(currentPlayerLocation, MAX_RENDER_DISTANCE * 0.8, forceVisible);
+        double viewRadius = cullRadius(MAX_RENDER_DISTANCE * 0.8, packedParticles, effects);
+        Collection<Player> viewers = collectViewers(effectId, currentPlayerLocation, viewRadius, forceVisible);
         if (viewers.isEmpty()) {
             return;
         }
-        
+
+        ParticleOptimizer.EffectTracker tracker = isAnimated && refreshTicks > 0 ? particleOptimizer.track(effectId, particleCount) : null;
+        particleBudget.open(viewerSnapshot.lastQueryWeight());
+        try {
+            emitParticlesForPlayer(particles, packedParticles, player, playerLocation, currentPlayerLocation, viewers, effects, tick, lifetimeSeconds, maxTicks, isAnimated, particleCount,
+                tracker, refreshTicks);
+        } finally {
+            particleBudget.close();
+        }
+    }
+
+    private void emitParticlesForPlayer(List<ParticleData> particles, PackedParticleArray packedParticles, Player player, Location playerLocation,
+                                        Location currentPlayerLocation, Collection<Player> viewers, ParticleEffects.EffectSettings effects, int tick,
+                                        int lifetimeSeconds, int maxTicks, boolean isAnimated, int particleCount,
+                                        ParticleOptimizer.EffectTracker tracker, int refreshTicks) {
+        ParticleData reusable = packedParticles != null ? new ParticleData() : null;
+
         double movementDistance = 0.0;
         if (playerLocation != null) {
             movementDistance = playerLocation.distance(currentPlayerLocation);
@@ -2461,6 +2507,7 @@ public class ParticleModelManager {
         int iStep = 1;
 
         for (int i = iStart, processed = 0; i < particleCount && processed < totalToProcess; i += iStep, processed++) {
+            if (particleBudget.isExhausted()) break;
             ParticleData particle;
             if (packedParticles != null) {
                 packedParticles.copyInto(i, reusable);
@@ -2471,45 +2518,41 @@ public class ParticleModelManager {
             if (particle == null) continue;
             
             boolean shouldSpawn = false;
+            int trackedRgb = 0;
+            double trackedX = 0.0, trackedY = 0.0, trackedZ = 0.0;
 
             if (isAnimated) {
-                // Always spawn selected particles for this frame snapshot
-                shouldSpawn = true;
-            } else {
-                if (lifetimeSeconds == -1) {
-                    int cycleLength = Math.max(maxTicks, 100);
-                    int cycleTick = tick % cycleLength;
-
-                    if (cycleTick >= particle.getDelay()) {
-                        if ((cycleTick - particle.getDelay()) % spawnInterval == 0) {
-                            shouldSpawn = true;
-                        }
-                    }
+                // Spawn every particle of the frame snapshot, or only the changed and refresh-due ones when tracked
+                if (tracker == null) {
+                    shouldSpawn = true;
                 } else {
-                    if (tick >= particle.getDelay() && (lifetimeSeconds > 0 || tick < maxTicks)) {
-                        if ((tick - particle.getDelay()) % spawnInterval == 0) {
-                            shouldSpawn = true;
-                        }
-                    }
+                    trackedRgb = ParticleOptimizer.packRgb(particle.getR(), particle.getG(), particle.getB());
+                    trackedX = currentPlayerLocation.getX() + particle.getX();
+                    trackedY = currentPlayerLocation.getY() + particle.getY();
+                    trackedZ = currentPlayerLocation.getZ() + particle.getZ();
+                    shouldSpawn = tracker.shouldUpdate(i, trackedRgb, trackedX, trackedY, trackedZ, tick, refreshTicks);
+                }
+            } else {
+                // Loop position stretched to whole spawn intervals, so the wrap does not skip a re-send
+                int emitTick = ClientLifetime.staticEmitTick(tick, lifetimeSeconds, maxTicks, spawnInterval);
+                if (emitTick >= particle.getDelay() && (emitTick - particle.getDelay()) % spawnInterval == 0) {
+                    shouldSpawn = true;
                 }
             }
             
             if (shouldSpawn) {
-                // TEMPORARILY DISABLED ALSO VERY OLD, WILL CLEAN UP THE CODE LATER: Particle optimization causing animation issues
-                /*
-                // For animated models, use particle optimizer to reduce unnecessary spawns
-                if (isAnimated) {
-                    if (particleOptimizer.shouldUpdateParticle(effectId, particle, tick)) {
-                        // Use current location for real-time positioning
-                        spawnParticleForPlayer(particle, currentPlayerLocation, player, effects, tick, forceVisible);
-                    }
+                // For animated frames, mark as animated to use minimal-persistence particle styling
+                boolean sent;
+                if (packedParticles != null) {
+                    sent = spawnParticleForPlayer(particle, packedParticles.getDustOptions(i), packedParticles.getDustTransition(i),
+                        currentPlayerLocation, player, viewers, effects, tick, isAnimated);
                 } else {
-                    // Normal models spawn without optimization
-                    spawnParticleForPlayer(particle, currentPlayerLocation, player, effects, tick, forceVisible);
+                    sent = spawnParticleForPlayer(particle, particle.getDustOptions(), null, currentPlayerLocation, player, viewers, effects, tick, isAnimated);
+                }
+                // Only what went out counts as sent; a budget-dropped particle stays due for the next tick
+                if (sent && isAnimated && tracker != null) {
+                    tracker.markSent(i, trackedRgb, trackedX, trackedY, trackedZ, tick, refreshTicks);
                 }
-                */
-                // For animated frames, mark as animated to use minimal-persistence particle styling
-                spawnParticleForPlayer(particle, currentPlayerLocation, player, viewers, effects, tick, isAnimated);
             }
             
             // Dynamic batch limiting based on movement (disabled for animated frames)
@@ -2522,124 +2565,43 @@ public class ParticleModelManager {
     }
     
     /**
-     * Spawn particle for player-attached effect
+     * Spawn particle for player-attached effect. False when nothing was sent.
      */
-    private void spawnParticleForPlayer(ParticleData particle, Location playerLocation, Player attachedPlayer,
+    private boolean spawnParticleForPlayer(ParticleData particle, Particle.DustOptions dustOptions, Particle.DustTransition dustTransition,
+                                      Location playerLocation, Player attachedPlayer,
                                       Collection<Player> viewers, ParticleEffects.EffectSettings effects, long tick, boolean isAnimated) {
         try {
             World world = playerLocation.getWorld();
             if (world == null || !attachedPlayer.isOnline() || viewers.isEmpty()) {
-                return;
+                return false;
             }
             
-            Location particleLocation;
-            
+            double x = particle.getX();
+            double y = particle.getY();
+            double z = particle.getZ();
             if (effects != null) {
-                particleLocation = ParticleEffects.applyEffects(particle, playerLocation, effects, tick);
-            } else {
-                double x = particle.getX();
-                double y = particle.getY();
-                double z = particle.getZ();
-                particleLocation = playerLocation.clone().add(x, y, z);
+                applyCompiledEffects(particle, effects, tick);
+                x = effectOffset[0];
+                y = effectOffset[1];
+                z = effectOffset[2];
             }
             
-            Particle.DustOptions dustOptions = particle.getDustOptions();
-
             int particleCount = 1;
             double offsetX = 0.0, offsetY = 0.0, offsetZ = 0.0;
             double extra = 0.0;
 
-            for (Player viewer : viewers) {
-                spawnParticleForViewer(viewer, particleLocation, dustOptions, null, particleCount, offsetX, offsetY, offsetZ, extra, isAnimated);
-            }
+            return emitToViewers(viewers, world, playerLocation.getX() + x, playerLocation.getY() + y, playerLocation.getZ() + z, dustOptions, dustTransition, particleCount, offsetX, offsetY, offsetZ, extra, isAnimated, ViewerBudget.Priority.HIGH);
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to spawn player particle: " + e.getMessage());
+            return false;
         }
     }
 
-    private void spawnParticleForViewer(Player viewer, Location location, Particle.DustOptions dustOptions, Particle.DustOptions previousDust,
-                                      int count, double offsetX, double offsetY, double offsetZ, double extra, boolean isAnimated) {
-        if (isAnimated) {
-            // Choose particle type for animated frames based on config (default REDSTONE)
-            com.winss.dustlab.config.DustLabConfig.AnimatedParticleMode mode = config.getAnimatedParticleMode();
-            // Use minimal persistence: 1 particle with small extra and zero offsets
-            count = 1;
-            offsetX = 0.0; offsetY = 0.0; offsetZ = 0.0;
-            // Lower extra helps reduce lingering visuals (implementation-specific)
-            extra = 0.0;
-            if (mode == com.winss.dustlab.config.DustLabConfig.AnimatedParticleMode.TRANSITION) {
-                try {
-                    // Even if configured, to avoid smear/ghosting, use same->same in animated path
-                    Particle.DustTransition dustTransition = new Particle.DustTransition(
-                        dustOptions.getColor(),
-                        dustOptions.getColor(),
-                        dustOptions.getSize()
-                    );
-                    viewer.spawnParticle(
-                        Particle.DUST_COLOR_TRANSITION,
-                        location,
-                        count,
-                        offsetX,
-                        offsetY,
-                        offsetZ,
-                        extra,
-                        dustTransition
-                    );
-                } catch (Exception e) {
-                    viewer.spawnParticle(
-                        Particle.REDSTONE,
-                        location,
-                        count,
-                        offsetX,
-                        offsetY,
-                        offsetZ,
-                        extra,
-                        dustOptions
-                    );
-                }
-            } else {
-                viewer.spawnParticle(
-                    Particle.REDSTONE,
-                    location,
-                    count,
-                    offsetX,
-                    offsetY,
-                    offsetZ,
-                    extra,
-                    dustOptions
-                );
-            }
-        } else {
-            try {
-                Particle.DustTransition dustTransition = new Particle.DustTransition(
-                    dustOptions.getColor(), 
-                    dustOptions.getColor(), 
-                    dustOptions.getSize()
-                );
-                
-                viewer.spawnParticle(
-                    Particle.DUST_COLOR_TRANSITION,
-                    location,
-                    count, 
-                    offsetX, 
-                    offsetY,
-                    offsetZ,
-                    extra,
-                    dustTransition
-                );
-            } catch (Exception e) {
-                viewer.spawnParticle(
-                    Particle.REDSTONE,
-                    location,
-                    count, 
-                    offsetX, 
-                    offsetY,
-                    offsetZ,
-                    extra,
-                    dustOptions 
-                );
-            }
-        }
+    // Charges the budgets and sends through the sink; false when the budgets dropped the particle for everyone
+    private boolean emitToViewers(Collection<Player> viewers, World world, double x, double y, double z, Particle.DustOptions dustOptions, Particle.DustTransition dustTransition,
+                               int count, double offsetX, double offsetY, double offsetZ, double extra, boolean isAnimated, ViewerBudget.Priority priority) {
+        return dustEmitter.emit(viewers, activeViewerLevels, emitDetailRank, world, x, y, z, dustOptions, dustTransition,
+            count, offsetX, offsetY, offsetZ, extra, isAnimated, priority);
     }
     
     @SuppressWarnings("unused")
@@ -2652,62 +2614,41 @@ public class ParticleModelManager {
     }
     
     public void stopAllEffects() {
-        for (BukkitTask task : activeEffects.values()) {
-            task.cancel();
+        for (ActiveEffect active : activeEffects.snapshot()) {
+            active.handle.cancel();
         }
-        activeEffects.clear();
-        effectIdMap.clear();
         
         // I am an idiot, apparently this was causing persistent effects to be lost on server shutdown 
     }
     
     public void stopAllEffectsAndClearMemory() {
-        for (BukkitTask task : activeEffects.values()) {
-            task.cancel();
+        for (ActiveEffect active : activeEffects.snapshot()) {
+            active.handle.cancel();
         }
         activeEffects.clear();
-        activeEffectInfo.clear();
-        effectIdMap.clear();
+        effectAnchors.clear();
     }
     
     public boolean stopEffect(int effectId) {
-        String effectKey = effectIdMap.get(effectId);
-        if (effectKey == null) {
+        ActiveEffect active = activeEffects.get(effectId);
+        if (active == null) {
             return false; 
         }
         
-        BukkitTask task = activeEffects.remove(effectKey);
-        activeEffectInfo.remove(effectKey);
-        effectIdMap.remove(effectId);
-        
-        particleOptimizer.removeEffect(effectKey);
-        
-        if (task != null) {
-            task.cancel();
-            return true;
-        }
-        return false;
+        finishEffect(active);
+        return true;
     }
     
     public boolean moveEffect(int effectId, Location newLocation) {
-        String effectKey = effectIdMap.get(effectId);
-        if (effectKey == null) {
+        ActiveEffect active = activeEffects.get(effectId);
+        if (active == null) {
             return false; 
         }
         
-        EffectInfo oldInfo = activeEffectInfo.get(effectKey);
-        if (oldInfo == null) {
-            return false;
-        }
-        
-        BukkitTask task = activeEffects.remove(effectKey);
-        if (task != null) {
-            task.cancel();
-        }
+        EffectInfo oldInfo = active.info;
         
         // Remove old references
-        activeEffectInfo.remove(effectKey);
-        effectIdMap.remove(effectId);
+        finishEffect(active);
 
         // Respawn using the same existing effect ID (no re-allocation)
         int respawnedId = playModelOnLocationWithEffectsWithExistingId(
@@ -2723,11 +2664,8 @@ public class ParticleModelManager {
     }
     
     public EffectInfo getEffectInfo(int effectId) {
-        String effectKey = effectIdMap.get(effectId);
-        if (effectKey == null) {
-            return null;
-        }
-        return activeEffectInfo.get(effectKey);
+        ActiveEffect active = activeEffects.get(effectId);
+        return active != null ? active.info : null;
     }
     
 
@@ -2744,8 +2682,8 @@ public class ParticleModelManager {
             Map<String, Object> persistentData = new HashMap<>();
             List<Map<String, Object>> instances = new ArrayList<>();
 
-            for (Map.Entry<String, EffectInfo> entry : activeEffectInfo.entrySet()) {
-                EffectInfo effect = entry.getValue();
+            for (ActiveEffect active : activeEffects.snapshot()) {
+                EffectInfo effect = active.info;
                 if (effect.isPersistent()) {
                     Map<String, Object> instance = new HashMap<>();
 
@@ -2864,8 +2802,8 @@ public class ParticleModelManager {
             // Best-effort cleanup of temp file on failure
             try { java.nio.file.Files.deleteIfExists(tempFile.toPath()); } catch (Exception ignore) {}
         } finally {
-            // Once saved, these IDs are now fully owned by usedEffectIds; no need to keep in reserved set
-            reservedForRestoreIds.clear();
+            // Once saved, restored IDs are held by their live effects; no need to keep them reserved
+            activeEffects.releaseReservations();
         }
     }
     
@@ -2894,7 +2832,6 @@ public class ParticleModelManager {
             plugin.getLogger().info("Found " + instances.size() + " persistent instance(s); queuing restore after models load.");
             
             // Pre-reserve all effect IDs found in persistence to avoid reassignment before restore
-            int maxId = nextEffectId;
             for (Map<String, Object> inst : instances) {
                 try {
                     if (inst.containsKey("metadata")) {
@@ -2902,17 +2839,11 @@ public class ParticleModelManager {
                         Object idObj = md.get("effect_id");
                         if (idObj instanceof Number) {
                             int id = ((Number) idObj).intValue();
-                            if (id > 0) {
-                                reservedForRestoreIds.add(id);
-                                if (id > maxId) maxId = id;
-                            }
+                            activeEffects.reserve(id);
                         }
                     }
                 } catch (Exception ignore) {}
             }
-            if (maxId >= nextEffectId) {
-                nextEffectId = maxId + 1;
-            }
 
             // Defer actual restoration until after initial model loading finishes
             this.pendingPersistentInstances = instances;
@@ -3124,6 +3055,8 @@ public class ParticleModelManager {
         shuttingDown = true;
         savePersistedModels();
         stopAllEffectsAndClearMemory();
+        dormantEffects.stop();
+        renderLoop.stop();
         cancelAllLoadJobs();
         // Give in-flight executor tasks a moment to settle before disabling
         try { Thread.sleep(50L); } catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
@@ -3154,7 +3087,6 @@ public class ParticleModelManager {
         } catch (Exception ignored) {}
         // Hard cancel any remaining tasks for this plugin to appease Paper's nag if any slipped through
         try { plugin.getServer().getScheduler().cancelTasks(plugin); } catch (Exception ignored) {}
-        // do not reset nextEffectId here; it is managed by allocate/reserve
     }
 
     private void recoverOrQuarantineTempFiles() {
@@ -3301,92 +3233,32 @@ public class ParticleModelManager {
     }
     
     public void reloadModels() {
-        Map<String, EffectInfo> savedEffects = new HashMap<>(activeEffectInfo);
-        @SuppressWarnings("unused")
-        Map<String, BukkitTask> savedTasks = new HashMap<>(activeEffects);
-        @SuppressWarnings("unused")
-        Map<Integer, String> savedIdMap = new HashMap<>(effectIdMap);
+        List<ActiveEffect> savedEffects = activeEffects.snapshot();
         
-        for (BukkitTask task : activeEffects.values()) {
-            task.cancel();
+        for (ActiveEffect active : savedEffects) {
+            active.handle.cancel();
         }
         activeEffects.clear();
-        activeEffectInfo.clear();
-        effectIdMap.clear();
+        effectAnchors.clear();
         
         loadModels();
         
-        for (Map.Entry<String, EffectInfo> entry : savedEffects.entrySet()) {
-            String effectKey = entry.getKey();
-            EffectInfo effectInfo = entry.getValue();
+        for (ActiveEffect saved : savedEffects) {
+            EffectInfo effectInfo = saved.info;
             
             if (hasModel(effectInfo.modelName)) {
-                activeEffectInfo.put(effectKey, effectInfo);
-                effectIdMap.put(effectInfo.id, effectKey);
-                
                 ParticleModel model = getModel(effectInfo.modelName);
                 if (model != null) {
-                    BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
-                        private int tick = 0;
-                        private final int maxTicks = Math.max(model.getDuration(), getMaxParticleDelay(model) + 60);
-                        
-                        @Override
-                        public void run() {
-                            if (tick >= maxTicks && !effectInfo.isLooping) {
-                                BukkitTask currentTask = activeEffects.remove(effectKey);
-                                activeEffectInfo.remove(effectKey);
-                                effectIdMap.remove(effectInfo.id);
-                                if (currentTask != null) {
-                                    currentTask.cancel();
-                                }
-                                return;
-                            }
-                            
-                            List<ParticleData> currentParticles;
-                            
-                            boolean isAnimated = model instanceof com.winss.dustlab.media.AnimatedModel;
-                            
-                            if (isAnimated) {
-                                com.winss.dustlab.media.AnimatedModel animatedModel = (com.winss.dustlab.media.AnimatedModel) model;
-                                com.winss.dustlab.media.FrameData currentFrame = animatedModel.getFrameAtTick(tick);
-                                currentParticles = currentFrame != null ? currentFrame.getParticles() : new ArrayList<>();
-                            } else {
-                                currentParticles = model.getParticles();
-                            }
-                            
-                            if (currentParticles != null) {
-                                Collection<Player> viewers = collectViewers(effectInfo.location, effectInfo.forceVisible);
-                                if (viewers.isEmpty()) {
-                                    tick++;
-                                    return;
-                                }
-                                for (ParticleData particle : currentParticles) {
-                                    if (particle != null) {
-                                        if (effectInfo.isLooping) {
-                                            int cycleLength = Math.max(maxTicks, 100); 
-                                            int cycleTick = tick % cycleLength;
-                                            
-                                            if (cycleTick >= particle.getDelay()) {
-                                                if ((cycleTick - particle.getDelay()) % 3 == 0) {
-                                                    spawnParticleWithEffects(particle, effectInfo.location, viewers, effectInfo.effectSettings, tick, isAnimated);
-                                                }
-                                            }
-                                        } else {
-                                            if (tick >= particle.getDelay() && tick < maxTicks) {
-                                                if ((tick - particle.getDelay()) % 3 == 0) {
-                                                    spawnParticleWithEffects(particle, effectInfo.location, viewers, effectInfo.effectSettings, tick, isAnimated);
-                                                }
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                            
-                            tick++;
-                        }
-                    }, 0L, 1L); 
-                    
-                    activeEffects.put(effectKey, task);
+                    ActiveEffect active = new ActiveEffect(saved.key, effectInfo);
+                    Runnable renderer;
+                    if (effectInfo.attachedPlayer != null) {
+                        renderer = new PlayerEffectRenderer(active, model, effectInfo.attachedPlayer, effectInfo.lifetimeSeconds,
+                            effectInfo.effectSettings, effectInfo.onlyWhenStill, effectInfo.forceVisible);
+                    } else {
+                        renderer = new LocationEffectRenderer(active, model, effectInfo.location, effectInfo.lifetimeSeconds,
+                            effectInfo.effectSettings, 0L);
+                    }
+                    register(active, renderer);
                 }
             } else {
                 plugin.getLogger().warning("Cannot restore effect for model '" + effectInfo.modelName + "' - model not found after reload");
@@ -3833,21 +3705,7 @@ public class ParticleModelManager {
             // Remove from live registry and stop active effects using it
             loadedModels.remove(modelName);
 
-            List<String> effectsToRemove = new ArrayList<>();
-            for (Map.Entry<String, EffectInfo> entry : activeEffectInfo.entrySet()) {
-                if (entry.getValue().modelName.equals(modelName)) {
-                    effectsToRemove.add(entry.getKey());
-                }
-            }
-
-            for (String effectKey : effectsToRemove) {
-                BukkitTask task = activeEffects.get(effectKey);
-                if (task != null) {
-                    task.cancel();
-                    activeEffects.remove(effectKey);
-                }
-                activeEffectInfo.remove(effectKey);
-            }
+            stopEffectsOfModel(modelName);
 
             // Archive, do not delete user data
             try {
@@ -3873,8 +3731,55 @@ public class ParticleModelManager {
         return new HashMap<>(loadedModels);
     }
     
-    public Map<String, EffectInfo> getActiveEffects() {
-        return new HashMap<>(activeEffectInfo);
+    // Stops every running instance of a model, e.g. before it is unloaded or deleted; returns how many were stopped
+    private int stopEffectsOfModel(String modelName) {
+        int stopped = 0;
+        for (int id = 1; id < activeEffects.idBound(); id++) {
+            ActiveEffect active = activeEffects.get(id);
+            if (active != null && active.info.modelName.equals(modelName)) {
+                finishEffect(active);
+                stopped++;
+            }
+        }
+        return stopped;
+    }
+    
+    /**
+     * Location effects anchored within {@code radius} of {@code origin}, nearest first. Player-attached effects are not included.
+     */
+    public List<EffectInfo> getEffectsNear(Location origin, double radius) {
+        List<ActiveEffect> found = new ArrayList<>();
+        effectAnchors.collectNear(origin, radius, found);
+        found.sort(Comparator.comparingDouble(active -> active.info.location.distanceSquared(origin)));
+        return infosOf(found);
+    }
+
+    /**
+     * Location effects anchored in chunk ({@code chunkX}, {@code chunkZ}) of {@code world}, in no particular order.
+     */
+    public List<EffectInfo> getEffectsInChunk(World world, int chunkX, int chunkZ) {
+        List<ActiveEffect> found = new ArrayList<>();
+        effectAnchors.collectInChunk(world, chunkX, chunkZ, found);
+        return infosOf(found);
+    }
+
+    public int getEffectCountInChunk(World world, int chunkX, int chunkZ) {
+        return effectAnchors.countInChunk(world, chunkX, chunkZ);
+    }
+
+    private static List<EffectInfo> infosOf(List<ActiveEffect> effects) {
+        List<EffectInfo> infos = new ArrayList<>(effects.size());
+        for (ActiveEffect active : effects) {
+            infos.add(active.info);
+        }
+        return infos;
+    }
+    
+    /**
+     * Running effects in ID order.
+     */
+    public List<EffectInfo> getActiveEffects() {
+        return infosOf(activeEffects.snapshot());
     }
     
     public MemoryUsageReport estimateMemoryUsage() {
@@ -3936,7 +3841,7 @@ public class ParticleModelManager {
                 legacyParticles,
                 optimizerEffects,
                 optimizerParticles,
-                activeEffectInfo.size());
+                activeEffects.size());
     }
     
     private static long estimateParticleListBytes(List<ParticleData> particles) {
@@ -3950,24 +3855,7 @@ public class ParticleModelManager {
     
     public boolean deleteModel(String modelName) {
         try {
-            List<String> effectsToRemove = new ArrayList<>();
-            for (Map.Entry<String, EffectInfo> entry : activeEffectInfo.entrySet()) {
-                if (entry.getValue().modelName.equals(modelName)) {
-                    effectsToRemove.add(entry.getKey());
-                }
-            }
-            
-            for (String effectKey : effectsToRemove) {
-                BukkitTask task = activeEffects.get(effectKey);
-                if (task != null) {
-                    task.cancel();
-                    activeEffects.remove(effectKey);
-                }
-                EffectInfo effectInfo = activeEffectInfo.remove(effectKey);
-                if (effectInfo != null) {
-                    effectIdMap.remove(effectInfo.id);
-                }
-            }
+            int stoppedEffects = stopEffectsOfModel(modelName);
             
             loadedModels.remove(modelName);
             
@@ -3997,7 +3885,7 @@ public class ParticleModelManager {
                     }
                 } catch (Exception ignore) {}
                 if (deleted) {
-                    plugin.getLogger().info("Deleted model '" + modelName + "' (stopped " + effectsToRemove.size() + " active effects)");
+                    plugin.getLogger().info("Deleted model '" + modelName + "' (stopped " + stoppedEffects + " active effects)");
                     
                     savePersistedModels();
                     
@@ -4047,10 +3935,49 @@ public class ParticleModelManager {
      * Get particle optimization statistics
      * @return String with optimization stats
      */
+    public ParticleBudget getParticleBudget() {
+        return particleBudget;
+    }
+
+    public ViewerBudget getViewerBudget() {
+        return viewerBudget;
+    }
+
+    public EmissionStats getEmissionStats() {
+        return emissionStats;
+    }
+
+    public QualityLadder getQualityLadder() {
+        return qualityLadder;
+    }
+
+    public TransformGroups getTransformGroups() {
+        return transformGroups;
+    }
+
+    public int getDormantEffectCount() {
+        return dormantEffects.size();
+    }
+
+    public ParticleSink getParticleSink() {
+        return dustEmitter.getSink();
+    }
+
+    /**
+     * Replaces where particles are sent, e.g. a {@link com.winss.dustlab.render.RecordingParticleSink} for benchmarks.
+     */
+    public void setParticleSink(ParticleSink particleSink) {
+        dustEmitter.setSink(particleSink);
+    }
+
+    public RenderLoop getRenderLoop() {
+        return renderLoop;
+    }
+
     public String getOptimizationStats() {
         int trackedEffects = particleOptimizer.getActiveEffectCount();
         int trackedParticles = particleOptimizer.getTotalParticleCount();
-        int activeEffects = activeEffectInfo.size();
+        int activeEffects = this.activeEffects.size();
         
         return String.format("Particle Optimization Stats:\n" +
                 "- Active Effects: %d\n" +
@@ -4066,6 +3993,6 @@ public class ParticleModelManager {
     }
     
     public int getActiveEffectCount() {
-        return activeEffectInfo.size();
+        return activeEffects.size();
     }
 }
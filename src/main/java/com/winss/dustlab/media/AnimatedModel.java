@@ -16,6 +16,14 @@ public class AnimatedModel extends ParticleModel {
     private final int blockHeight;
     private final int maxParticleCount;
     private final boolean tickAligned; // true if all frame delays are >=50ms and divisible by 50
+    // Prefix sums: frame i plays during [ends[i - 1], ends[i]) in ticks and in milliseconds
+    private final long[] tickEnds;
+    private final long[] millisEnds;
+    // Tick-aligned animations of modest length map an animation tick straight to its frame
+    private static final int MAX_DIRECT_TICKS = 1 << 16;
+    private final int[] frameAtTick;
+    private volatile FrameDeltas frameDeltas;
+    private volatile boolean frameDeltasBuilt;
     
     public AnimatedModel(String name, List<FrameData> frames, boolean looping, String sourceUrl, 
                         int blockWidth, int blockHeight, int maxParticleCount) {
@@ -31,6 +39,17 @@ public class AnimatedModel extends ParticleModel {
         this.blockHeight = blockHeight;
         this.maxParticleCount = maxParticleCount;
         this.tickAligned = determineTickAligned(frames);
+        this.tickEnds = new long[totalFrames];
+        this.millisEnds = new long[totalFrames];
+        long ticks = 0L;
+        long millis = 0L;
+        for (int i = 0; i < totalFrames; i++) {
+            ticks += frameTicks(safeFrames.get(i));
+            millis += safeFrames.get(i).getDelayMs();
+            tickEnds[i] = ticks;
+            millisEnds[i] = millis;
+        }
+        this.frameAtTick = tickAligned && ticks <= MAX_DIRECT_TICKS ? buildTickIndex(tickEnds) : null;
         
         // Set the base duration and particles from the first frame for compatibility
         if (!safeFrames.isEmpty()) {
@@ -91,6 +110,21 @@ public class AnimatedModel extends ParticleModel {
     public boolean isTickAligned() {
         return tickAligned;
     }
+
+    /**
+     * Frame-to-frame change lists, built on first use; null when the frames are not packed.
+     */
+    public FrameDeltas getFrameDeltas() {
+        if (!frameDeltasBuilt) {
+            synchronized (this) {
+                if (!frameDeltasBuilt) {
+                    frameDeltas = FrameDeltas.build(frames, looping);
+                    frameDeltasBuilt = true;
+                }
+            }
+        }
+        return frameDeltas;
+    }
     
     private boolean determineTickAligned(List<FrameData> frames) {
         if (frames == null || frames.isEmpty()) return false;
@@ -104,94 +138,118 @@ public class AnimatedModel extends ParticleModel {
     }
     
 
+    private int frameTicks(FrameData frame) {
+        return tickAligned
+            ? Math.max(1, frame.getDelayMs() / 50)
+            : (int) Math.max(1, Math.round(frame.getDelayMs() / 50.0));
+    }
+
+    private static int[] buildTickIndex(long[] ends) {
+        int[] index = new int[(int) ends[ends.length - 1]];
+        int frame = 0;
+        for (int t = 0; t < index.length; t++) {
+            while (t >= ends[frame]) {
+                frame++;
+            }
+            index[t] = frame;
+        }
+        return index;
+    }
+
     private int calculateTotalDuration() {
         if (tickAligned) {
-            long totalTicks = frames.stream()
-                .mapToLong(f -> Math.max(1, f.getDelayMs() / 50))
-                .sum();
-            return Math.max(1, (int) totalTicks);
-        } else {
-            long totalMs = frames.stream()
-                .mapToLong(FrameData::getDelayMs)
-                .sum();
-            // Use rounding to better match real playback time (50 ms per tick)
-            return Math.max(1, (int) Math.round(totalMs / 50.0));
+            return Math.max(1, (int) getTotalDurationTicks());
         }
+        // Use rounding to better match real playback time (50 ms per tick)
+        return Math.max(1, (int) Math.round(getTotalDurationMillis() / 50.0));
+    }
+
+    public long getTotalDurationTicks() {
+        return totalFrames > 0 ? tickEnds[totalFrames - 1] : 0L;
     }
-    
 
+    public long getTotalDurationMillis() {
+        return totalFrames > 0 ? millisEnds[totalFrames - 1] : 0L;
+    }
 
     public FrameData getFrameAtTick(long currentTick) {
-        if (frames.isEmpty()) return null;
-        if (frames.size() == 1) return frames.get(0);
-        
-        long totalDurationTicks;
-        if (tickAligned) {
-            totalDurationTicks = frames.stream()
-                .mapToLong(frame -> Math.max(1, frame.getDelayMs() / 50))
-                .sum();
-        } else {
-            totalDurationTicks = frames.stream()
-                .mapToLong(frame -> Math.max(1, Math.round(frame.getDelayMs() / 50.0)))
-                .sum();
-        }
-        
-        if (totalDurationTicks <= 0) {
-            return frames.get(0);
+        int position = frameIndexAtTick(currentTick);
+        return position >= 0 ? frames.get(position) : null;
+    }
+
+    public FrameData getFrameAtTime(long elapsedMs) {
+        int position = frameIndexAtTime(elapsedMs);
+        return position >= 0 ? frames.get(position) : null;
+    }
+
+    /**
+     * Position in {@link #getFrames()} of the frame showing at {@code currentTick}, or -1 without frames.
+     * Past the end, a looping animation wraps and a one-shot one holds its last frame.
+     */
+    public int frameIndexAtTick(long currentTick) {
+        if (frames.isEmpty()) return -1;
+        if (frames.size() == 1) return 0;
+        long total = getTotalDurationTicks();
+        long t = looping ? currentTick % total : currentTick;
+        if (t < 0) {
+            return looping ? 0 : frames.size() - 1;
         }
-        
-        long currentAnimationTick = currentTick;
-        if (looping) {
-            currentAnimationTick = currentTick % totalDurationTicks;
+        if (t >= total) {
+            return frames.size() - 1;
         }
-        
-        long accumulatedTicks = 0;
-        for (FrameData frame : frames) {
-            long frameTickDuration = tickAligned
-                ? Math.max(1, frame.getDelayMs() / 50)
-                : Math.max(1, Math.round(frame.getDelayMs() / 50.0));
-            long frameEndTick = accumulatedTicks + frameTickDuration;
-            
-            if (currentAnimationTick >= accumulatedTicks && currentAnimationTick < frameEndTick) {
-                return frame;
-            }
-            
-            accumulatedTicks = frameEndTick;
+        if (frameAtTick != null) {
+            return frameAtTick[(int) t];
         }
-        
-        return looping ? frames.get(0) : frames.get(frames.size() - 1);
+        return search(tickEnds, t);
     }
-    
 
-    public FrameData getFrameAtTime(long elapsedMs) {
-        if (frames.isEmpty()) return null;
-        if (frames.size() == 1) return frames.get(0);
-        
-        long totalDurationMs = frames.stream()
-            .mapToLong(FrameData::getDelayMs)
-            .sum();
-        
-        if (totalDurationMs <= 0) {
-            return frames.get(0);
+    /**
+     * Millisecond counterpart of {@link #frameIndexAtTick(long)}.
+     */
+    public int frameIndexAtTime(long elapsedMs) {
+        if (frames.isEmpty()) return -1;
+        if (frames.size() == 1) return 0;
+        long total = getTotalDurationMillis();
+        if (total <= 0) {
+            return 0;
         }
-        
-        long currentAnimationTime = elapsedMs;
-        if (looping) {
-            currentAnimationTime = elapsedMs % totalDurationMs;
+        long t = looping ? elapsedMs % total : elapsedMs;
+        if (t < 0) {
+            return looping ? 0 : frames.size() - 1;
         }
-        
-        long accumulatedTime = 0;
-        for (FrameData frame : frames) {
-            long frameEndTime = accumulatedTime + frame.getDelayMs();
-            
-            if (currentAnimationTime >= accumulatedTime && currentAnimationTime < frameEndTime) {
-                return frame;
+        if (t >= total) {
+            return frames.size() - 1;
+        }
+        return search(millisEnds, t);
+    }
+
+    /**
+     * Tick at which the frame at {@code position} starts, for seeking playback to it.
+     */
+    public long getFrameStartTick(int position) {
+        return position <= 0 || totalFrames == 0 ? 0L : tickEnds[Math.min(position, totalFrames) - 1];
+    }
+
+    /**
+     * Millisecond offset at which the frame at {@code position} starts.
+     */
+    public long getFrameStartMillis(int position) {
+        return position <= 0 || totalFrames == 0 ? 0L : millisEnds[Math.min(position, totalFrames) - 1];
+    }
+
+    // First frame whose end lies beyond t; zero-length frames are never selected
+    private static int search(long[] ends, long t) {
+        int lo = 0;
+        int hi = ends.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ends[mid] > t) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
             }
-            
-            accumulatedTime = frameEndTime;
         }
-        
-        return looping ? frames.get(0) : frames.get(frames.size() - 1);
+        return lo;
     }
     
     public int getTotalParticleCount() {
@@ -0,0 +1,146 @@
+package com.winss.dustlab.media;
+
+import com.winss.dustlab.packed.PackedParticleArray;
+import com.winss.dustlab.render.ClientLifetime;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-frame change lists for an {@link AnimatedModel}. Frame N is compared with frame N-1 particle by particle
+ * (same index); a particle counts as changed when its colour, size or position moved past a small threshold,
+ * or when the previous frame had no particle at that index. Playback then sends only the changed particles on
+ * a frame switch and re-sends every particle on a staggered cadence a little shorter than the client-side dust
+ * lifetime, so unchanged particles never fade out.
+ * <p>
+ * Built once per model from immutable frames; safe to share between instances and threads.
+ */
+public final class FrameDeltas {
+
+    // Colour channels are 0..1; this is about two steps of an 8-bit channel
+    private static final float COLOUR_THRESHOLD = 2.0f / 255.0f;
+    private static final float SCALE_THRESHOLD = 0.01f;
+    private static final float POSITION_THRESHOLD = 0.01f;
+
+    private static final int[] NO_CHANGES = new int[0];
+
+    /**
+     * What to send on one tick: the changed indices ({@code null} for the whole frame) plus the refresh cadence.
+     */
+    public record Step(int[] changed, int refreshTicks) {
+        public boolean isFullFrame() {
+            return changed == null;
+        }
+    }
+
+    private final Map<FrameData, Integer> positions = new IdentityHashMap<>();
+    private final Step[] steps;
+    private final Step fullFrame;
+    private final Step refreshOnly;
+    private final int[] predecessor;
+    private final long changedParticles;
+    private final long totalParticles;
+
+    private FrameDeltas(List<FrameData> frames, boolean looping, int refreshTicks) {
+        int count = frames.size();
+        this.steps = new Step[count];
+        this.predecessor = new int[count];
+        this.fullFrame = new Step(null, refreshTicks);
+        this.refreshOnly = new Step(NO_CHANGES, refreshTicks);
+        long changedSum = 0L;
+        long totalSum = 0L;
+        for (int k = 0; k < count; k++) {
+            positions.put(frames.get(k), k);
+            int previous = k > 0 ? k - 1 : (looping ? count - 1 : -1);
+            predecessor[k] = previous;
+            PackedParticleArray current = frames.get(k).getPackedParticles();
+            if (previous < 0 || previous == k) {
+                steps[k] = fullFrame;
+                continue;
+            }
+            int[] changed = changedIndices(frames.get(previous).getPackedParticles(), current);
+            steps[k] = new Step(changed, refreshTicks);
+            changedSum += changed.length;
+            totalSum += current.size();
+        }
+        this.changedParticles = changedSum;
+        this.totalParticles = totalSum;
+    }
+
+    /**
+     * Change lists for {@code frames}, or null when a frame is not packed (legacy lists are always sent whole).
+     * The refresh cadence follows the shortest client lifetime, i.e. the smallest particle scale.
+     */
+    public static FrameDeltas build(List<FrameData> frames, boolean looping) {
+        if (frames == null || frames.size() < 2) {
+            return null;
+        }
+        float minScale = Float.MAX_VALUE;
+        for (FrameData frame : frames) {
+            PackedParticleArray packed = frame.getPackedParticles();
+            if (packed == null) {
+                return null;
+            }
+            minScale = Math.min(minScale, packed.getPalette().getMinScale());
+        }
+        return new FrameDeltas(frames, looping, ClientLifetime.dustRefreshTicks(minScale));
+    }
+
+    /**
+     * Step for switching from {@code previous} (null on the first frame) to {@code current}. Only a switch to the
+     * direct successor gets a change list; skipped frames or an unknown predecessor send the whole frame.
+     */
+    public Step step(FrameData previous, FrameData current) {
+        Integer position = positions.get(current);
+        if (position == null || previous == null) {
+            return fullFrame;
+        }
+        Integer previousPosition = positions.get(previous);
+        if (previousPosition == null || predecessor[position] != previousPosition) {
+            return fullFrame;
+        }
+        return steps[position];
+    }
+
+    /**
+     * Step for a tick on which the frame did not change: refresh only.
+     */
+    public Step refreshOnly() {
+        return refreshOnly;
+    }
+
+    /**
+     * Fraction of particles that change between consecutive frames, over the whole animation.
+     */
+    public double getChangedFraction() {
+        return totalParticles > 0 ? changedParticles / (double) totalParticles : 1.0D;
+    }
+
+    private static int[] changedIndices(PackedParticleArray previous, PackedParticleArray current) {
+        int size = current.size();
+        int overlap = Math.min(size, previous.size());
+        int[] changed = new int[size];
+        int count = 0;
+        for (int i = 0; i < overlap; i++) {
+            if (differs(previous, current, i)) {
+                changed[count++] = i;
+            }
+        }
+        for (int i = overlap; i < size; i++) {
+            changed[count++] = i;
+        }
+        return count == size ? changed : Arrays.copyOf(changed, count);
+    }
+
+    private static boolean differs(PackedParticleArray a, PackedParticleArray b, int i) {
+        return Math.abs(a.getX(i) - b.getX(i)) > POSITION_THRESHOLD
+            || Math.abs(a.getY(i) - b.getY(i)) > POSITION_THRESHOLD
+            || Math.abs(a.getZ(i) - b.getZ(i)) > POSITION_THRESHOLD
+            || Math.abs(a.getR(i) - b.getR(i)) > COLOUR_THRESHOLD
+            || Math.abs(a.getG(i) - b.getG(i)) > COLOUR_THRESHOLD
+            || Math.abs(a.getB(i) - b.getB(i)) > COLOUR_THRESHOLD
+            || Math.abs(a.getScale(i) - b.getScale(i)) > SCALE_THRESHOLD;
+    }
+}
@@ -2,6 +2,7 @@ package com.winss.dustlab.models;
 
 import com.google.gson.annotations.SerializedName;
 import com.winss.dustlab.packed.PackedParticleArray;
+import com.winss.dustlab.packed.ParticleStats;
 
 import java.util.Collections;
 import java.util.List;
@@ -17,6 +18,7 @@ public class ParticleModel {
 
     private transient PackedParticleArray packedParticles;
     private transient List<ParticleData> packedAdapter;
+    private transient volatile ParticleStats stats;
     
     private transient String name;
     private transient int duration = 100; 
@@ -63,6 +65,7 @@ public class ParticleModel {
         this.particles = particles;
         this.packedParticles = null;
         this.packedAdapter = null;
+        this.stats = null;
     }
     
     public int getDuration() {
@@ -80,6 +83,7 @@ public class ParticleModel {
     public void setPackedParticles(PackedParticleArray packedParticles) {
         this.packedParticles = packedParticles;
         this.packedAdapter = packedParticles != null ? packedParticles.toParticleDataList() : null;
+        this.stats = null;
         if (packedParticles != null) {
             this.particles = packedAdapter;
         }
@@ -88,6 +92,23 @@ public class ParticleModel {
     public boolean hasPackedParticles() {
         return packedParticles != null;
     }
+
+    /**
+     * Geometry and timing summary of the particles. Packed models carry it from build time;
+     * legacy lists are summarised once and cached until the particles are replaced.
+     */
+    public ParticleStats getStats() {
+        ParticleStats current = stats;
+        if (current == null) {
+            current = packedParticles != null ? packedParticles.getStats() : ParticleStats.of(particles);
+            stats = current;
+        }
+        return current;
+    }
+
+    public int getMaxDelay() {
+        return getStats().maxDelay();
+    }
     
 
     @SuppressWarnings("unchecked")
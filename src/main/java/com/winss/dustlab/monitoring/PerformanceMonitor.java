@@ -1,8 +1,14 @@
 package com.winss.dustlab.monitoring;
 
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
 import com.winss.dustlab.DustLab;
 import com.winss.dustlab.managers.ParticleModelManager;
+import com.winss.dustlab.render.RenderLoop;
 import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.lang.management.ManagementFactory;
@@ -17,11 +23,15 @@ import java.util.concurrent.ConcurrentLinkedDeque;
  * Simple process performance monitor that samples CPU and heap usage periodically
  * so commands like /dustlab stats can display rolling averages without spawning
  * expensive OS calls on the main thread.
+ * <p>
+ * It also times every server tick (and DustLab's render loop within it) and feeds the
+ * rolling MSPT average to the manager's {@link com.winss.dustlab.render.QualityLadder}.
  */
-public class PerformanceMonitor {
+public class PerformanceMonitor implements Listener {
 
     private static final long SAMPLE_PERIOD_TICKS = 20L; // 1 second
     private static final long MAX_WINDOW_MILLIS = Duration.ofMinutes(5).toMillis();
+    private static final int TICK_WINDOW = 20; // ticks in the rolling MSPT average
 
     private final DustLab plugin;
     private final Deque<MetricSample> samples = new ConcurrentLinkedDeque<>();
@@ -30,6 +40,16 @@ public class PerformanceMonitor {
 
     private BukkitTask task;
 
+    // Main thread: last TICK_WINDOW tick durations and DustLab's render time within them
+    private final double[] tickMillis = new double[TICK_WINDOW];
+    private final double[] dustLabMillis = new double[TICK_WINDOW];
+    private double tickMillisSum = 0.0D;
+    private double dustLabMillisSum = 0.0D;
+    private int tickSamples = 0;
+    private int tickSlot = 0;
+    private volatile double averageMspt = 0.0D;
+    private volatile double averageDustLabMillis = 0.0D;
+
     public PerformanceMonitor(DustLab plugin) {
         this.plugin = plugin;
         this.osBean = ManagementFactory.getPlatformMXBean(com.sun.management.OperatingSystemMXBean.class);
@@ -40,16 +60,61 @@ public class PerformanceMonitor {
             return;
         }
         task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::collectSample, SAMPLE_PERIOD_TICKS, SAMPLE_PERIOD_TICKS);
+        Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
     public synchronized void stop() {
         if (task != null) {
             task.cancel();
             task = null;
+            HandlerList.unregisterAll(this);
         }
         samples.clear();
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServerTickEnd(ServerTickEndEvent event) {
+        double tick = event.getTickDuration();
+        double own = 0.0D;
+        ParticleModelManager manager = plugin.getParticleModelManager();
+        RenderLoop loop = manager != null ? manager.getRenderLoop() : null;
+        if (loop != null) {
+            own = loop.getLastTickNanos() / 1_000_000.0D;
+        }
+
+        if (tickSamples < TICK_WINDOW) {
+            tickSamples++;
+        } else {
+            tickMillisSum -= tickMillis[tickSlot];
+            dustLabMillisSum -= dustLabMillis[tickSlot];
+        }
+        tickMillis[tickSlot] = tick;
+        dustLabMillis[tickSlot] = own;
+        tickMillisSum += tick;
+        dustLabMillisSum += own;
+        tickSlot = (tickSlot + 1) % TICK_WINDOW;
+        averageMspt = tickMillisSum / tickSamples;
+        averageDustLabMillis = dustLabMillisSum / tickSamples;
+
+        if (manager != null) {
+            manager.getQualityLadder().update(averageMspt);
+        }
+    }
+
+    /**
+     * Average server tick duration over the last second, in milliseconds.
+     */
+    public double getAverageMspt() {
+        return averageMspt;
+    }
+
+    /**
+     * Average time DustLab's render loop took per tick over the last second, in milliseconds.
+     */
+    public double getAverageDustLabMillis() {
+        return averageDustLabMillis;
+    }
+
     public PerformanceSnapshot snapshot() {
         WindowAverages tenSeconds = computeWindow(Duration.ofSeconds(10).toMillis());
         WindowAverages oneMinute = computeWindow(Duration.ofMinutes(1).toMillis());
@@ -0,0 +1,100 @@
+package com.winss.dustlab.packed;
+
+import java.util.Arrays;
+
+/**
+ * Groups the particles of a {@link PackedParticleArray} by spawn phase ({@code (delay + index) mod interval})
+ * with each group sorted by delay. A static model re-emits particle {@code i} on every tick where
+ * {@code tick >= delay[i]} and {@code (tick - delay[i] - i) % interval == 0}, so the particles due on
+ * a tick are exactly a prefix of one group, and emission only visits what it actually spawns.
+ * <p>
+ * The index term spreads particles that share a delay evenly over the interval, so a model whose
+ * particles all appear together sends a steady 1/interval of them per tick rather than all of them at once.
+ * A particle therefore first appears up to {@code interval - 1} ticks after its delay.
+ */
+public final class DelayIndex {
+
+    private final int interval;
+    private final int[][] indices; // per phase: particle indices ordered by delay
+    private final int[][] delays;  // per phase: matching delays, for the ready-prefix search
+
+    private DelayIndex(int interval, int[][] indices, int[][] delays) {
+        this.interval = interval;
+        this.indices = indices;
+        this.delays = delays;
+    }
+
+    static DelayIndex build(int[] delay, int size, int interval) {
+        int phases = Math.max(1, interval);
+        int[] counts = new int[phases];
+        for (int i = 0; i < size; i++) {
+            counts[phaseOf(delay, i, phases)]++;
+        }
+        long[][] keys = new long[phases][];
+        for (int p = 0; p < phases; p++) {
+            keys[p] = new long[counts[p]];
+        }
+        int[] fill = new int[phases];
+        for (int i = 0; i < size; i++) {
+            int p = phaseOf(delay, i, phases);
+            // Sort key: delay in the high word, index in the low word keeps equal delays in model order
+            keys[p][fill[p]++] = ((long) delay[i] << 32) | (i & 0xFFFFFFFFL);
+        }
+        int[][] indices = new int[phases][];
+        int[][] delays = new int[phases][];
+        for (int p = 0; p < phases; p++) {
+            long[] k = keys[p];
+            Arrays.sort(k);
+            int[] idx = new int[k.length];
+            int[] del = new int[k.length];
+            for (int j = 0; j < k.length; j++) {
+                idx[j] = (int) k[j];
+                del[j] = (int) (k[j] >> 32);
+            }
+            indices[p] = idx;
+            delays[p] = del;
+        }
+        return new DelayIndex(phases, indices, delays);
+    }
+
+    private static int phaseOf(int[] delay, int index, int phases) {
+        return (int) Math.floorMod((long) delay[index] + index, (long) phases);
+    }
+
+    public int interval() {
+        return interval;
+    }
+
+    /**
+     * Particle indices sharing the spawn phase of {@code tick}; only the first {@link #readyCount(int)} are due.
+     */
+    public int[] indicesFor(int tick) {
+        return indices[Math.floorMod(tick, interval)];
+    }
+
+    /**
+     * Number of particles due on {@code tick}: the phase group's prefix with {@code delay <= tick}.
+     */
+    public int readyCount(int tick) {
+        int[] del = delays[Math.floorMod(tick, interval)];
+        int lo = 0;
+        int hi = del.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (del[mid] <= tick) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    long approximateSizeBytes() {
+        long bytes = 16L;
+        for (int[] idx : indices) {
+            bytes += 32L + (long) idx.length * Integer.BYTES * 2L;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,170 @@
+package com.winss.dustlab.packed;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Nested levels of detail for a {@link PackedParticleArray}, built by voxel clustering. Level 0 keeps about
+ * 10% of the particles, level 1 about 25%, level 2 about 50% and level 3 all of them. Each coarse level picks
+ * one particle per occupied voxel (the one closest to the voxel centre), with the voxel size searched so the
+ * level lands near its share; finer levels keep every particle of the coarser ones, so a particle's
+ * {@link #rank(int) rank} is simply the coarsest level it belongs to.
+ */
+public final class DetailLevels {
+
+    public static final int FULL = 3;
+    private static final double[] LEVEL_FRACTIONS = {0.10, 0.25, 0.50};
+    // Models this small are cheap at any distance and lose their shape when decimated
+    private static final int MIN_PARTICLES = 200;
+    private static final int SEARCH_STEPS = 16;
+    // The voxel-size search stops once the voxel count is this close to the level's share
+    private static final double SEARCH_TOLERANCE = 0.1;
+
+    private final byte[] ranks;
+    private final int[] levelSizes;
+
+    private DetailLevels(byte[] ranks, int[] levelSizes) {
+        this.ranks = ranks;
+        this.levelSizes = levelSizes;
+    }
+
+    /**
+     * Coarsest level (0..{@link #FULL}) that still contains particle {@code index}.
+     */
+    public int rank(int index) {
+        return ranks[index];
+    }
+
+    /**
+     * Number of particles sent at {@code level}.
+     */
+    public int levelSize(int level) {
+        return levelSizes[Math.max(0, Math.min(FULL, level))];
+    }
+
+    static DetailLevels build(float[] x, float[] y, float[] z, int size, ParticleStats stats) {
+        byte[] ranks = new byte[size];
+        int[] levelSizes = new int[FULL + 1];
+        if (size < MIN_PARTICLES) {
+            Arrays.fill(levelSizes, size);
+            return new DetailLevels(ranks, levelSizes);
+        }
+        Arrays.fill(ranks, (byte) FULL);
+
+        double minX = stats.minX(), minY = stats.minY(), minZ = stats.minZ();
+        double extent = Math.max(stats.maxX() - minX, Math.max(stats.maxY() - minY, stats.maxZ() - minZ));
+        if (extent <= 0.0) {
+            Arrays.fill(ranks, (byte) 0);
+            Arrays.fill(levelSizes, size);
+            return new DetailLevels(ranks, levelSizes);
+        }
+
+        long[] keys = new long[size];
+        double cell = extent * 2.0;
+        int selected = 0;
+        for (int level = 0; level < LEVEL_FRACTIONS.length; level++) {
+            int target = (int) Math.round(size * LEVEL_FRACTIONS[level]);
+            // Finer levels need smaller voxels, so the previous level's size bounds the search
+            cell = searchCellSize(x, y, z, size, keys, minX, minY, minZ, extent / 2_000_000.0, cell, target);
+
+            // Voxels already holding a particle from a coarser level take no new one
+            Set<Long> taken = new HashSet<>();
+            Map<Long, Integer> best = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                long key = voxel(x[i], y[i], z[i], minX, minY, minZ, cell);
+                if (ranks[i] < level) {
+                    taken.add(key);
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                if (ranks[i] <= level) {
+                    continue;
+                }
+                long key = voxel(x[i], y[i], z[i], minX, minY, minZ, cell);
+                if (taken.contains(key)) {
+                    continue;
+                }
+                Integer current = best.get(key);
+                if (current == null || centreDistance(x, y, z, i, minX, minY, minZ, cell)
+                        < centreDistance(x, y, z, current, minX, minY, minZ, cell)) {
+                    best.put(key, i);
+                }
+            }
+            // The search may overshoot the share; cut evenly across the voxels in key order rather than in hash
+            // order, so the voxels left out are spread over the shape instead of clustered in one part of it
+            long[] occupied = new long[best.size()];
+            int candidates = 0;
+            for (long key : best.keySet()) {
+                occupied[candidates++] = key;
+            }
+            Arrays.sort(occupied);
+            int take = Math.min(candidates, Math.max(0, target - selected));
+            for (int j = 0; j < take; j++) {
+                ranks[best.get(occupied[(int) ((long) j * candidates / take)])] = (byte) level;
+            }
+            selected += take;
+            levelSizes[level] = selected;
+        }
+        levelSizes[FULL] = size;
+        return new DetailLevels(ranks, levelSizes);
+    }
+
+    // Voxel edge in [lo, hi] for which about `target` voxels are occupied; lo keeps voxel indices inside 21 bits
+    private static double searchCellSize(float[] x, float[] y, float[] z, int size, long[] keys,
+                                         double minX, double minY, double minZ, double lo, double hi, int target) {
+        double best = hi;
+        for (int s = 0; s < SEARCH_STEPS; s++) {
+            double mid = Math.sqrt(lo * hi);
+            int occupied = countVoxels(x, y, z, size, keys, minX, minY, minZ, mid);
+            if (occupied > target) {
+                lo = mid;
+            } else {
+                hi = mid;
+                best = mid;
+            }
+            if (Math.abs(occupied - target) <= target * SEARCH_TOLERANCE) {
+                return mid;
+            }
+        }
+        return best;
+    }
+
+    private static int countVoxels(float[] x, float[] y, float[] z, int size, long[] keys,
+                                   double minX, double minY, double minZ, double cell) {
+        for (int i = 0; i < size; i++) {
+            keys[i] = voxel(x[i], y[i], z[i], minX, minY, minZ, cell);
+        }
+        Arrays.sort(keys, 0, size);
+        int distinct = size > 0 ? 1 : 0;
+        for (int i = 1; i < size; i++) {
+            if (keys[i] != keys[i - 1]) {
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+    private static long voxel(float px, float py, float pz, double minX, double minY, double minZ, double cell) {
+        long ix = (long) ((px - minX) / cell);
+        long iy = (long) ((py - minY) / cell);
+        long iz = (long) ((pz - minZ) / cell);
+        return (ix << 42) | (iy << 21) | iz;
+    }
+
+    private static double centreDistance(float[] x, float[] y, float[] z, int i, double minX, double minY, double minZ, double cell) {
+        double fx = (x[i] - minX) / cell;
+        double fy = (y[i] - minY) / cell;
+        double fz = (z[i] - minZ) / cell;
+        double dx = fx - Math.floor(fx) - 0.5;
+        double dy = fy - Math.floor(fy) - 0.5;
+        double dz = fz - Math.floor(fz) - 0.5;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    long approximateSizeBytes() {
+        return 32L + ranks.length;
+    }
+}
@@ -5,11 +5,15 @@ import com.winss.dustlab.models.ParticleData;
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.RandomAccess;
 
 /**
  * Memory-compact representation of particle data backed by primitive arrays.
+ * Colour and scale are stored as an index into a {@link ParticlePalette} (a {@code char} per particle,
+ * or an {@code int} when a model has more than 65536 distinct entries).
  * Retains compatibility with the legacy {@link ParticleData} based pipeline via adapter views.
  */
 public final class PackedParticleArray {
@@ -17,26 +21,31 @@ public final class PackedParticleArray {
     private final float[] x;
     private final float[] y;
     private final float[] z;
-    private final float[] r;
-    private final float[] g;
-    private final float[] b;
-    private final float[] scale;
+    private final ParticlePalette palette;
+    private final char[] paletteIndex;     // used when the palette fits in 16 bits
+    private final int[] widePaletteIndex;  // otherwise
     private final int[] delay;
     private final int size;
+    private final ParticleStats stats;
+    private final boolean progressive;
+    // Lazily built per spawn interval; intervals up to the longest dust refresh are cached since every static render uses them
+    private static final int CACHED_DELAY_INTERVALS = 32;
+    private final DelayIndex[] delayIndexes = new DelayIndex[CACHED_DELAY_INTERVALS + 1];
+    private volatile DetailLevels detailLevels;
 
     private PackedParticleArray(float[] x, float[] y, float[] z,
-                                float[] r, float[] g, float[] b,
-                                float[] scale, int[] delay,
-                                int size) {
+                                ParticlePalette palette, char[] paletteIndex, int[] widePaletteIndex,
+                                int[] delay, int size, ParticleStats stats, boolean progressive) {
         this.x = x;
         this.y = y;
         this.z = z;
-        this.r = r;
-        this.g = g;
-        this.b = b;
-        this.scale = scale;
+        this.palette = palette;
+        this.paletteIndex = paletteIndex;
+        this.widePaletteIndex = widePaletteIndex;
         this.delay = delay;
         this.size = size;
+        this.stats = stats;
+        this.progressive = progressive;
     }
 
     public int size() {
@@ -47,6 +56,13 @@ public final class PackedParticleArray {
         return size == 0;
     }
 
+    /**
+     * True when the array was built in progressive order, so any prefix or block is an even subsample of the shape.
+     */
+    public boolean isProgressive() {
+        return progressive;
+    }
+
     public double getX(int index) {
         return x[index];
     }
@@ -59,26 +75,108 @@ public final class PackedParticleArray {
         return z[index];
     }
 
+    /**
+     * Position columns for batch kernels. Shared with this array, so callers must not modify them;
+     * only the first {@link #size()} entries are meaningful.
+     */
+    public float[] getXColumn() {
+        return x;
+    }
+
+    public float[] getYColumn() {
+        return y;
+    }
+
+    public float[] getZColumn() {
+        return z;
+    }
+
     public double getR(int index) {
-        return r[index];
+        return palette.getR(getPaletteIndex(index));
     }
 
     public double getG(int index) {
-        return g[index];
+        return palette.getG(getPaletteIndex(index));
     }
 
     public double getB(int index) {
-        return b[index];
+        return palette.getB(getPaletteIndex(index));
     }
 
     public float getScale(int index) {
-        return scale[index];
+        return palette.getScale(getPaletteIndex(index));
+    }
+
+    public int getPaletteIndex(int index) {
+        return paletteIndex != null ? paletteIndex[index] : widePaletteIndex[index];
+    }
+
+    public ParticlePalette getPalette() {
+        return palette;
+    }
+
+    /**
+     * Shared, pre-built dust data for the particle at {@code index}; do not mutate.
+     */
+    public org.bukkit.Particle.DustOptions getDustOptions(int index) {
+        return palette.getDustOptions(getPaletteIndex(index));
+    }
+
+    public org.bukkit.Particle.DustTransition getDustTransition(int index) {
+        return palette.getDustTransition(getPaletteIndex(index));
     }
 
     public int getDelay(int index) {
         return delay[index];
     }
 
+    /**
+     * Bounds, centroid, max delay and colour count, computed when the array was built.
+     */
+    public ParticleStats getStats() {
+        return stats;
+    }
+
+    public int getMaxDelay() {
+        return stats.maxDelay();
+    }
+
+    /**
+     * Returns the delay/phase index for the given spawn interval, building it on first use.
+     * Concurrent first calls may build it twice; the result is identical, so the race is harmless.
+     */
+    public DelayIndex delayIndex(int interval) {
+        int key = Math.max(1, interval);
+        if (key > CACHED_DELAY_INTERVALS) {
+            return DelayIndex.build(delay, size, key);
+        }
+        DelayIndex index = delayIndexes[key];
+        if (index == null) {
+            index = DelayIndex.build(delay, size, key);
+            delayIndexes[key] = index;
+        }
+        return index;
+    }
+
+    /**
+     * Distance levels of detail, clustered on first use. Concurrent first calls may both build them; the result is identical.
+     */
+    public DetailLevels detailLevels() {
+        DetailLevels levels = detailLevels;
+        if (levels == null) {
+            levels = DetailLevels.build(x, y, z, size, stats);
+            detailLevels = levels;
+        }
+        return levels;
+    }
+
+    /**
+     * The levels of detail if {@link #detailLevels()} has already built them, otherwise null.
+     */
+    public DetailLevels getDetailLevelsIfBuilt() {
+        return detailLevels;
+    }
+
     /**
      * Provides a lightweight {@link List} view that materialises {@link ParticleData} on demand.
      * Useful for sites that still expect the legacy representation while avoiding full object retention.
@@ -95,14 +193,15 @@ public final class PackedParticleArray {
      * This allows re-using a single {@link ParticleData} object across iterations to avoid garbage.
      */
     public void copyInto(int index, ParticleData reusable) {
+        int entry = getPaletteIndex(index);
         reusable.setX(getX(index));
         reusable.setY(getY(index));
         reusable.setZ(getZ(index));
-        reusable.setR(getR(index));
-        reusable.setG(getG(index));
-        reusable.setB(getB(index));
+        reusable.setR(palette.getR(entry));
+        reusable.setG(palette.getG(entry));
+        reusable.setB(palette.getB(entry));
         reusable.setDelay(getDelay(index));
-        reusable.setScale(getScale(index));
+        reusable.setScale(palette.getScale(entry));
     }
 
     /**
@@ -110,9 +209,19 @@ public final class PackedParticleArray {
      * The calculation focuses on the primitive backing arrays which dominate usage.
      */
     public long approximateSizeBytes() {
-        long componentBytes = (long) size * (Float.BYTES * 7L + Integer.BYTES);
-        long arrayHeaders = 16L * 8L; // rough JVM header per primitive array
-        return componentBytes + arrayHeaders;
+        long indexBytes = paletteIndex != null ? Character.BYTES : Integer.BYTES;
+        long componentBytes = (long) size * (Float.BYTES * 3L + Integer.BYTES + indexBytes);
+        long arrayHeaders = 16L * 5L; // rough JVM header per primitive array
+        componentBytes += palette.approximateSizeBytes();
+        long delayIndexBytes = 0L;
+        for (DelayIndex index : delayIndexes) {
+            if (index != null) {
+                delayIndexBytes += index.approximateSizeBytes();
+            }
+        }
+        DetailLevels levels = detailLevels;
+        long levelBytes = levels != null ? levels.approximateSizeBytes() : 0L;
+        return componentBytes + arrayHeaders + delayIndexBytes + levelBytes;
     }
 
     public static Builder builder() {
@@ -133,6 +242,7 @@ public final class PackedParticleArray {
         private float[] scale;
         private int[] delay;
         private int size;
+        private boolean progressive;
 
         private Builder(int expectedSize) {
             int initial = Math.max(0, expectedSize);
@@ -173,6 +283,7 @@ public final class PackedParticleArray {
                            double r, double g, double b,
                            int delay, float scale) {
             ensureCapacity(size + 1);
+            progressive = false;
             int idx = size++;
             this.x[idx] = (float) x;
             this.y[idx] = (float) y;
@@ -195,19 +306,93 @@ public final class PackedParticleArray {
             return size;
         }
 
+        /**
+         * Reorders the particles added so far so that any prefix covers the whole shape evenly
+         * (see {@link ProgressiveOrder}). Colour, scale and delay move with their particle.
+         * Only for static models: animation frames rely on index order.
+         */
+        public Builder reorderProgressive() {
+            int[] order = ProgressiveOrder.of(x, y, z, size);
+            x = permute(x, order);
+            y = permute(y, order);
+            z = permute(z, order);
+            r = permute(r, order);
+            g = permute(g, order);
+            b = permute(b, order);
+            scale = permute(scale, order);
+            int[] d = new int[size];
+            for (int i = 0; i < size; i++) {
+                d[i] = delay[order[i]];
+            }
+            delay = d;
+            progressive = true;
+            return this;
+        }
+
+        private float[] permute(float[] values, int[] order) {
+            float[] result = new float[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = values[order[i]];
+            }
+            return result;
+        }
+
         public PackedParticleArray build() {
             float[] fx = Arrays.copyOf(x, size);
             float[] fy = Arrays.copyOf(y, size);
             float[] fz = Arrays.copyOf(z, size);
-            float[] fr = Arrays.copyOf(r, size);
-            float[] fg = Arrays.copyOf(g, size);
-            float[] fb = Arrays.copyOf(b, size);
-            float[] fs = Arrays.copyOf(scale, size);
             int[] fd = Arrays.copyOf(delay, size);
-            return new PackedParticleArray(fx, fy, fz, fr, fg, fb, fs, fd, size);
+            ParticleStats stats = ParticleStats.compute(fx, fy, fz, r, g, b, fd, size);
+
+            // Deduplicate colour + scale into the palette; exact float keys keep the data lossless
+            Map<PaletteKey, Integer> entries = new HashMap<>();
+            int[] entryOf = new int[size];
+            float[] pr = new float[Math.min(size, 256)];
+            float[] pg = new float[pr.length];
+            float[] pb = new float[pr.length];
+            float[] ps = new float[pr.length];
+            int paletteSize = 0;
+            for (int i = 0; i < size; i++) {
+                PaletteKey key = new PaletteKey(Float.floatToIntBits(r[i]), Float.floatToIntBits(g[i]),
+                        Float.floatToIntBits(b[i]), Float.floatToIntBits(scale[i]));
+                Integer entry = entries.get(key);
+                if (entry == null) {
+                    entry = paletteSize++;
+                    entries.put(key, entry);
+                    if (entry == pr.length) {
+                        int capacity = pr.length * 2;
+                        pr = Arrays.copyOf(pr, capacity);
+                        pg = Arrays.copyOf(pg, capacity);
+                        pb = Arrays.copyOf(pb, capacity);
+                        ps = Arrays.copyOf(ps, capacity);
+                    }
+                    pr[entry] = r[i];
+                    pg[entry] = g[i];
+                    pb[entry] = b[i];
+                    ps[entry] = scale[i];
+                }
+                entryOf[i] = entry;
+            }
+            ParticlePalette palette = new ParticlePalette(Arrays.copyOf(pr, paletteSize), Arrays.copyOf(pg, paletteSize),
+                    Arrays.copyOf(pb, paletteSize), Arrays.copyOf(ps, paletteSize), paletteSize);
+
+            char[] narrow = null;
+            int[] wide = null;
+            if (paletteSize <= Character.MAX_VALUE + 1) {
+                narrow = new char[size];
+                for (int i = 0; i < size; i++) {
+                    narrow[i] = (char) entryOf[i];
+                }
+            } else {
+                wide = entryOf;
+            }
+            return new PackedParticleArray(fx, fy, fz, palette, narrow, wide, fd, size, stats, progressive);
         }
     }
 
+    private record PaletteKey(int r, int g, int b, int scale) {
+    }
+
     private static final class PackedParticleListView extends AbstractList<ParticleData> implements RandomAccess {
         private final PackedParticleArray array;
 
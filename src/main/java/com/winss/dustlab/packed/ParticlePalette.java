@@ -0,0 +1,101 @@
+package com.winss.dustlab.packed;
+
+import org.bukkit.Color;
+import org.bukkit.Particle;
+
+/**
+ * Distinct colour + scale combinations of a {@link PackedParticleArray}. Particles refer to an entry
+ * by index, and each entry lazily builds its Bukkit dust data once, so emission stops allocating a
+ * {@link Color}, {@link Particle.DustOptions} and {@link Particle.DustTransition} per particle per viewer.
+ */
+public final class ParticlePalette {
+
+    private final float[] r;
+    private final float[] g;
+    private final float[] b;
+    private final float[] scale;
+    private final int size;
+    private final float minScale;
+
+    // Filled on first use; racing threads build equal objects, so unsynchronised publication is harmless
+    private final Particle.DustOptions[] dustOptions;
+    private final Particle.DustTransition[] dustTransitions;
+
+    ParticlePalette(float[] r, float[] g, float[] b, float[] scale, int size) {
+        this.r = r;
+        this.g = g;
+        this.b = b;
+        this.scale = scale;
+        this.size = size;
+        float smallest = Float.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            smallest = Math.min(smallest, scale[i]);
+        }
+        this.minScale = size > 0 ? smallest : 1.0f;
+        this.dustOptions = new Particle.DustOptions[size];
+        this.dustTransitions = new Particle.DustTransition[size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public float getR(int entry) {
+        return r[entry];
+    }
+
+    public float getG(int entry) {
+        return g[entry];
+    }
+
+    public float getB(int entry) {
+        return b[entry];
+    }
+
+    public float getScale(int entry) {
+        return scale[entry];
+    }
+
+    /**
+     * Smallest scale of any entry (1 for an empty palette); the shortest-lived particles on the client.
+     */
+    public float getMinScale() {
+        return minScale;
+    }
+
+    public Particle.DustOptions getDustOptions(int entry) {
+        Particle.DustOptions options = dustOptions[entry];
+        if (options == null) {
+            options = new Particle.DustOptions(color(entry), clampScale(scale[entry]));
+            dustOptions[entry] = options;
+        }
+        return options;
+    }
+
+    /**
+     * Same-colour transition, as sent by the static render path.
+     */
+    public Particle.DustTransition getDustTransition(int entry) {
+        Particle.DustTransition transition = dustTransitions[entry];
+        if (transition == null) {
+            Color color = color(entry);
+            transition = new Particle.DustTransition(color, color, clampScale(scale[entry]));
+            dustTransitions[entry] = transition;
+        }
+        return transition;
+    }
+
+    long approximateSizeBytes() {
+        // four float columns plus the two lazily filled reference arrays and their objects
+        return 16L * 6L + (long) size * (Float.BYTES * 4L + 8L + 64L);
+    }
+
+    // Same conversion as ParticleData#getColor / ParticleData#setScale
+    private Color color(int entry) {
+        return Color.fromRGB((int) (r[entry] * 255), (int) (g[entry] * 255), (int) (b[entry] * 255));
+    }
+
+    private static float clampScale(float value) {
+        return Math.max(0.1f, Math.min(5.0f, value));
+    }
+}
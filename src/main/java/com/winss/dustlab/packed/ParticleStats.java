@@ -0,0 +1,97 @@
+package com.winss.dustlab.packed;
+
+import com.winss.dustlab.models.ParticleData;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Geometry and timing summary of a particle set, computed once when the set is built so playback
+ * setup and viewer culling never have to walk the particles.
+ *
+ * @param maxDelay     largest spawn delay in ticks
+ * @param minX         axis-aligned bounds, in model space
+ * @param centroidX    mean particle position
+ * @param centerX      bounding sphere centre (the AABB centre)
+ * @param radius       bounding sphere radius around the centre
+ * @param originRadius furthest particle distance from the model origin; rotation about the origin keeps it valid
+ * @param colourCount  distinct 24-bit colours
+ */
+public record ParticleStats(int maxDelay,
+                            double minX, double minY, double minZ,
+                            double maxX, double maxY, double maxZ,
+                            double centroidX, double centroidY, double centroidZ,
+                            double centerX, double centerY, double centerZ,
+                            double radius, double originRadius,
+                            int colourCount) {
+
+    public static final ParticleStats EMPTY = new ParticleStats(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    static ParticleStats compute(float[] x, float[] y, float[] z, float[] r, float[] g, float[] b, int[] delay, int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        int maxDelay = Integer.MIN_VALUE;
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+        double sumX = 0.0, sumY = 0.0, sumZ = 0.0;
+        double originRadiusSquared = 0.0;
+        int[] colours = new int[size];
+        for (int i = 0; i < size; i++) {
+            double px = x[i], py = y[i], pz = z[i];
+            if (delay[i] > maxDelay) maxDelay = delay[i];
+            if (px < minX) minX = px;
+            if (py < minY) minY = py;
+            if (pz < minZ) minZ = pz;
+            if (px > maxX) maxX = px;
+            if (py > maxY) maxY = py;
+            if (pz > maxZ) maxZ = pz;
+            sumX += px;
+            sumY += py;
+            sumZ += pz;
+            double d2 = px * px + py * py + pz * pz;
+            if (d2 > originRadiusSquared) originRadiusSquared = d2;
+            colours[i] = rgb(r[i], g[i], b[i]);
+        }
+        double centerX = (minX + maxX) * 0.5, centerY = (minY + maxY) * 0.5, centerZ = (minZ + maxZ) * 0.5;
+        Arrays.sort(colours);
+        int colourCount = 1;
+        for (int i = 1; i < size; i++) {
+            if (colours[i] != colours[i - 1]) colourCount++;
+        }
+        double radiusSquared = 0.0;
+        for (int i = 0; i < size; i++) {
+            double dx = x[i] - centerX, dy = y[i] - centerY, dz = z[i] - centerZ;
+            double d2 = dx * dx + dy * dy + dz * dz;
+            if (d2 > radiusSquared) radiusSquared = d2;
+        }
+        return new ParticleStats(Math.max(0, maxDelay),
+                minX, minY, minZ, maxX, maxY, maxZ,
+                sumX / size, sumY / size, sumZ / size,
+                centerX, centerY, centerZ,
+                Math.sqrt(radiusSquared), Math.sqrt(originRadiusSquared),
+                colourCount);
+    }
+
+    /**
+     * Same summary for a legacy particle list; used by models that are not packed.
+     */
+    public static ParticleStats of(List<ParticleData> particles) {
+        if (particles == null || particles.isEmpty()) {
+            return EMPTY;
+        }
+        PackedParticleArray.Builder builder = PackedParticleArray.builder(particles.size());
+        for (ParticleData particle : particles) {
+            builder.add(particle);
+        }
+        return builder.build().getStats();
+    }
+
+    // Matches the 8-bit quantisation used when the colour is sent (ParticleData#getColor)
+    private static int rgb(float r, float g, float b) {
+        int red = Math.max(0, Math.min(255, (int) (r * 255)));
+        int green = Math.max(0, Math.min(255, (int) (g * 255)));
+        int blue = Math.max(0, Math.min(255, (int) (b * 255)));
+        return (red << 16) | (green << 8) | blue;
+    }
+}
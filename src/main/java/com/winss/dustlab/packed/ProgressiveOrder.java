@@ -0,0 +1,78 @@
+package com.winss.dustlab.packed;
+
+import java.util.Arrays;
+
+/**
+ * Progressive particle order: any prefix of the result is an even subsample of the whole shape.
+ * Particles are first sorted along a Morton (Z-order) curve, which keeps spatial neighbours close in the
+ * sequence, and then visited in bit-reversed rank order. The first N of the result are therefore roughly
+ * every (size / N)-th particle along the curve, and any aligned block is a stride sample of the same kind,
+ * regardless of the order the particles were authored in.
+ */
+final class ProgressiveOrder {
+
+    // Grid resolution per axis for the curve; 2^10 cells across the longest side
+    private static final int CURVE_BITS = 10;
+    private static final int CURVE_CELLS = 1 << CURVE_BITS;
+
+    private ProgressiveOrder() {
+    }
+
+    /**
+     * Permutation of {@code 0..size-1}: entry k is the index of the particle that goes to position k.
+     */
+    static int[] of(float[] x, float[] y, float[] z, int size) {
+        int[] order = new int[size];
+        if (size < 3) {
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            return order;
+        }
+
+        float minX = x[0], minY = y[0], minZ = z[0];
+        float maxX = minX, maxY = minY, maxZ = minZ;
+        for (int i = 1; i < size; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            minZ = Math.min(minZ, z[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+            maxZ = Math.max(maxZ, z[i]);
+        }
+        double extent = Math.max(maxX - minX, Math.max(maxY - minY, maxZ - minZ));
+        double toCell = extent > 0.0 ? (CURVE_CELLS - 1) / extent : 0.0;
+
+        // Curve position in the high bits, original index in the low bits keeps the sort stable
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            long morton = morton((int) ((x[i] - minX) * toCell), (int) ((y[i] - minY) * toCell), (int) ((z[i] - minZ) * toCell));
+            keys[i] = (morton << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int bits = 32 - Integer.numberOfLeadingZeros(size - 1);
+        int shift = 32 - bits;
+        int next = 0;
+        for (int k = 0; next < size; k++) {
+            int rank = Integer.reverse(k) >>> shift;
+            if (rank < size) {
+                order[next++] = (int) keys[rank];
+            }
+        }
+        return order;
+    }
+
+    private static long morton(int cx, int cy, int cz) {
+        return spread(cx) | (spread(cy) << 1) | (spread(cz) << 2);
+    }
+
+    // Places the low CURVE_BITS bits of v three bits apart
+    private static long spread(int v) {
+        long result = 0L;
+        for (int bit = 0; bit < CURVE_BITS; bit++) {
+            result |= (long) ((v >>> bit) & 1) << (bit * 3);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,169 @@
+package com.winss.dustlab.render;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Anchor positions of location effects, bucketed by chunk per world, so "which effects are near here" and
+ * "which effects are in this chunk" only look at the chunks involved instead of every running effect.
+ * <p>
+ * Entries are added when an effect starts and removed when it stops; a moved effect is re-added at its new
+ * anchor. Main-thread only.
+ *
+ * @param <T> the indexed effect
+ */
+public final class AnchorIndex<T> {
+
+    private static final int CELL_SHIFT = 4; // chunk-sized cells
+
+    private static final class Entry<T> {
+        final T effect;
+        final World world;
+        final long cell;
+        double x;
+        double y;
+        double z;
+
+        Entry(T effect, World world, long cell, double x, double y, double z) {
+            this.effect = effect;
+            this.world = world;
+            this.cell = cell;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+
+    private final Map<World, Map<Long, List<Entry<T>>>> worlds = new IdentityHashMap<>();
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+
+    /**
+     * Indexes {@code effect} at {@code anchor}, replacing any earlier position.
+     */
+    public void add(T effect, Location anchor) {
+        World world = anchor.getWorld();
+        if (world == null) {
+            remove(effect);
+            return;
+        }
+        long cell = key(cell(anchor.getX()), cell(anchor.getZ()));
+        Entry<T> entry = entries.get(effect);
+        if (entry != null && entry.world == world && entry.cell == cell) {
+            entry.x = anchor.getX();
+            entry.y = anchor.getY();
+            entry.z = anchor.getZ();
+            return;
+        }
+        remove(effect);
+        entry = new Entry<>(effect, world, cell, anchor.getX(), anchor.getY(), anchor.getZ());
+        entries.put(effect, entry);
+        worlds.computeIfAbsent(world, w -> new HashMap<>())
+            .computeIfAbsent(cell, k -> new ArrayList<>(2))
+            .add(entry);
+    }
+
+    public void remove(T effect) {
+        Entry<T> entry = entries.remove(effect);
+        if (entry == null) {
+            return;
+        }
+        Map<Long, List<Entry<T>>> cells = worlds.get(entry.world);
+        List<Entry<T>> bucket = cells.get(entry.cell);
+        bucket.remove(entry);
+        if (bucket.isEmpty()) {
+            cells.remove(entry.cell);
+            if (cells.isEmpty()) {
+                worlds.remove(entry.world);
+            }
+        }
+    }
+
+    /**
+     * Adds to {@code out} every effect anchored within {@code radius} of {@code origin}, in no particular order.
+     */
+    public void collectNear(Location origin, double radius, List<T> out) {
+        Map<Long, List<Entry<T>>> cells = origin != null ? worlds.get(origin.getWorld()) : null;
+        if (cells == null) {
+            return;
+        }
+        double ox = origin.getX();
+        double oy = origin.getY();
+        double oz = origin.getZ();
+        double radiusSquared = radius * radius;
+        int minX = cell(ox - radius);
+        int maxX = cell(ox + radius);
+        int minZ = cell(oz - radius);
+        int maxZ = cell(oz + radius);
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > cells.size()) {
+            // Fewer occupied cells than cells in range: walk the occupied ones
+            for (List<Entry<T>> bucket : cells.values()) {
+                collectWithin(bucket, ox, oy, oz, radiusSquared, out);
+            }
+            return;
+        }
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                List<Entry<T>> bucket = cells.get(key(cx, cz));
+                if (bucket != null) {
+                    collectWithin(bucket, ox, oy, oz, radiusSquared, out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds to {@code out} every effect anchored in chunk ({@code chunkX}, {@code chunkZ}) of {@code world}.
+     */
+    public void collectInChunk(World world, int chunkX, int chunkZ, List<T> out) {
+        List<Entry<T>> bucket = bucket(world, chunkX, chunkZ);
+        if (bucket != null) {
+            for (Entry<T> entry : bucket) {
+                out.add(entry.effect);
+            }
+        }
+    }
+
+    public int countInChunk(World world, int chunkX, int chunkZ) {
+        List<Entry<T>> bucket = bucket(world, chunkX, chunkZ);
+        return bucket != null ? bucket.size() : 0;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        worlds.clear();
+        entries.clear();
+    }
+
+    private List<Entry<T>> bucket(World world, int chunkX, int chunkZ) {
+        Map<Long, List<Entry<T>>> cells = worlds.get(world);
+        return cells != null ? cells.get(key(chunkX, chunkZ)) : null;
+    }
+
+    private static <T> void collectWithin(List<Entry<T>> bucket, double ox, double oy, double oz, double radiusSquared, List<T> out) {
+        for (Entry<T> entry : bucket) {
+            double dx = entry.x - ox;
+            double dy = entry.y - oy;
+            double dz = entry.z - oz;
+            if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                out.add(entry.effect);
+            }
+        }
+    }
+
+    private static int cell(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> CELL_SHIFT;
+    }
+
+    private static long key(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
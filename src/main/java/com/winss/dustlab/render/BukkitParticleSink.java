@@ -0,0 +1,32 @@
+package com.winss.dustlab.render;
+
+import com.destroystokyo.paper.ParticleBuilder;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+
+/**
+ * Sends particles through Paper's {@link ParticleBuilder}: each call builds the packet once and
+ * writes it to every receiver, instead of once per viewer as {@code Player#spawnParticle} does.
+ */
+public final class BukkitParticleSink implements ParticleSink {
+
+    // Reused for every call on the main thread; every field is set again before spawn().
+    // Forced (long-distance) like Player#spawnParticle: receivers are already range-checked, and unforced sends drop anyone past 32 blocks
+    private final ParticleBuilder builder = new ParticleBuilder(Particle.REDSTONE).force(true);
+
+    @Override
+    public void spawn(List<Player> receivers, Particle type, World world, double x, double y, double z,
+                      int count, double offsetX, double offsetY, double offsetZ, double extra, Object data) {
+        builder.particle(type)
+            .receivers(receivers)
+            .location(world, x, y, z)
+            .count(count)
+            .offset(offsetX, offsetY, offsetZ)
+            .extra(extra)
+            .data(data)
+            .spawn();
+    }
+}
@@ -0,0 +1,40 @@
+package com.winss.dustlab.render;
+
+/**
+ * How long the client keeps a particle alive, and so how often a standing particle has to be re-sent.
+ * Dust and dust-transition particles live {@code (int) (8 / (rand * 0.8 + 0.2) * scale)} ticks on the
+ * client (at least one), so the shortest possible life is {@code 8 * scale} ticks.
+ */
+public final class ClientLifetime {
+
+    private static final int BASE_DUST_LIFETIME_TICKS = 8;
+    // Re-send this many ticks before the shortest-lived particle could fade, to absorb network jitter
+    private static final int REFRESH_MARGIN_TICKS = 2;
+    // Shortest loop of an infinite static effect
+    private static final int MIN_LOOP_TICKS = 100;
+
+    private ClientLifetime() {
+    }
+
+    /**
+     * Re-send period, in ticks, that keeps dust of at least {@code minScale} continuously visible.
+     */
+    public static int dustRefreshTicks(float minScale) {
+        return Math.max(1, (int) (BASE_DUST_LIFETIME_TICKS * minScale) - REFRESH_MARGIN_TICKS);
+    }
+
+    /**
+     * Tick that static delay and re-send checks are evaluated against: the position in the loop for infinite
+     * effects ({@code lifetimeSeconds == -1}), the plain tick otherwise. Returns -1 once a one-shot effect has
+     * played out. The loop is stretched to a whole number of {@code refreshTicks} periods, so every particle
+     * keeps its re-send phase across the wrap instead of going unsent for longer than it lives.
+     */
+    public static int staticEmitTick(int tick, int lifetimeSeconds, int maxTicks, int refreshTicks) {
+        if (lifetimeSeconds == -1) {
+            int period = Math.max(1, refreshTicks);
+            int loop = Math.max(maxTicks, MIN_LOOP_TICKS);
+            return tick % ((loop + period - 1) / period * period);
+        }
+        return (lifetimeSeconds > 0 || tick < maxTicks) ? tick : -1;
+    }
+}
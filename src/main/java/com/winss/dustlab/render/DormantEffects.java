@@ -0,0 +1,319 @@
+package com.winss.dustlab.render;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Effects parked out of the {@link RenderLoop} because nobody can see them, bucketed by anchor chunk per world.
+ * A parked effect costs nothing per tick; it is handed back to the waker when a player comes near or, for
+ * effects parked in an unloaded chunk, also when that chunk loads.
+ * <p>
+ * Effects park only once no player is within their radius plus {@link #WAKE_MARGIN}. That margin is wider
+ * than the diagonal of a 16-block chunk section, so a player cannot get from outside it to inside the radius
+ * without crossing a section border, and moves inside one section are ignored. Main-thread only.
+ *
+ * @param <T> the parked effect, passed back to the waker
+ */
+public final class DormantEffects<T> implements Listener {
+
+    public static final double WAKE_MARGIN = 28.0D;
+    private static final int CELL_SHIFT = 4; // chunk-sized cells
+
+    private static final class Entry<T> {
+        final T effect;
+        final double x;
+        final double y;
+        final double z;
+        final double reachSquared;
+        final boolean waitingForChunk;
+
+        Entry(T effect, double x, double y, double z, double reach, boolean waitingForChunk) {
+            this.effect = effect;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.reachSquared = reach * reach;
+            this.waitingForChunk = waitingForChunk;
+        }
+    }
+
+    private final Consumer<T> waker;
+    private final Map<World, Map<Long, List<Entry<T>>>> worlds = new IdentityHashMap<>();
+    private final List<T> wakeScratch = new ArrayList<>();
+    private double maxReach = 0.0D;
+    private int size = 0;
+    private Plugin plugin;
+
+    public DormantEffects(Consumer<T> waker) {
+        this.waker = waker;
+    }
+
+    public void start(Plugin plugin) {
+        if (this.plugin != null) {
+            return;
+        }
+        this.plugin = plugin;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    public void stop() {
+        if (plugin != null) {
+            HandlerList.unregisterAll(this);
+            plugin = null;
+        }
+        clear();
+    }
+
+    /**
+     * Parks {@code effect} anchored at {@code anchor}. {@code radius} is the distance it can be seen from;
+     * {@code waitingForChunk} also wakes it when its chunk loads.
+     */
+    public void park(T effect, Location anchor, double radius, boolean waitingForChunk) {
+        World world = anchor.getWorld();
+        if (world == null) {
+            return;
+        }
+        double reach = radius + WAKE_MARGIN;
+        Entry<T> entry = new Entry<>(effect, anchor.getX(), anchor.getY(), anchor.getZ(), reach, waitingForChunk);
+        worlds.computeIfAbsent(world, w -> new HashMap<>())
+            .computeIfAbsent(key(cell(entry.x), cell(entry.z)), k -> new ArrayList<>(2))
+            .add(entry);
+        maxReach = Math.max(maxReach, reach);
+        size++;
+    }
+
+    /**
+     * Wakes every effect a player standing at {@code location} could be about to see.
+     */
+    public void wakeNear(Location location) {
+        if (size == 0 || location == null) {
+            return;
+        }
+        Map<Long, List<Entry<T>>> cells = worlds.get(location.getWorld());
+        if (cells == null) {
+            return;
+        }
+        double px = location.getX();
+        double py = location.getY();
+        double pz = location.getZ();
+        int minX = cell(px - maxReach);
+        int maxX = cell(px + maxReach);
+        int minZ = cell(pz - maxReach);
+        int maxZ = cell(pz + maxReach);
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > cells.size()) {
+            // Fewer occupied cells than cells in range: walk the occupied ones
+            Iterator<Map.Entry<Long, List<Entry<T>>>> it = cells.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, List<Entry<T>>> bucket = it.next();
+                if (collectNear(bucket.getValue(), px, py, pz)) {
+                    it.remove();
+                }
+            }
+        } else {
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    Long key = key(cx, cz);
+                    List<Entry<T>> bucket = cells.get(key);
+                    if (bucket != null && collectNear(bucket, px, py, pz)) {
+                        cells.remove(key);
+                    }
+                }
+            }
+        }
+        dropIfEmpty(location.getWorld(), cells);
+        flushWakes();
+    }
+
+    /**
+     * Wakes effects parked until chunk ({@code chunkX}, {@code chunkZ}) of {@code world} loads.
+     */
+    public void wakeChunk(World world, int chunkX, int chunkZ) {
+        if (size == 0) {
+            return;
+        }
+        Map<Long, List<Entry<T>>> cells = worlds.get(world);
+        if (cells == null) {
+            return;
+        }
+        Long key = key(chunkX, chunkZ);
+        List<Entry<T>> bucket = cells.get(key);
+        if (bucket == null) {
+            return;
+        }
+        for (int i = bucket.size() - 1; i >= 0; i--) {
+            Entry<T> entry = bucket.get(i);
+            if (entry.waitingForChunk) {
+                bucket.remove(i);
+                size--;
+                wakeScratch.add(entry.effect);
+            }
+        }
+        if (bucket.isEmpty()) {
+            cells.remove(key);
+        }
+        dropIfEmpty(world, cells);
+        flushWakes();
+    }
+
+    /**
+     * Wakes effects near any online player. Safety net for position changes that raise no move event.
+     */
+    public void wakeNearPlayers() {
+        if (size == 0) {
+            return;
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            wakeNear(player.getLocation());
+        }
+    }
+
+    /**
+     * Forgets parked effects matching {@code filter} (stopped or expired while parked) without waking them.
+     */
+    public void removeIf(Predicate<T> filter) {
+        Iterator<Map<Long, List<Entry<T>>>> worldIt = worlds.values().iterator();
+        while (worldIt.hasNext()) {
+            Map<Long, List<Entry<T>>> cells = worldIt.next();
+            Iterator<List<Entry<T>>> cellIt = cells.values().iterator();
+            while (cellIt.hasNext()) {
+                List<Entry<T>> bucket = cellIt.next();
+                for (int i = bucket.size() - 1; i >= 0; i--) {
+                    if (filter.test(bucket.get(i).effect)) {
+                        bucket.remove(i);
+                        size--;
+                    }
+                }
+                if (bucket.isEmpty()) {
+                    cellIt.remove();
+                }
+            }
+            if (cells.isEmpty()) {
+                worldIt.remove();
+            }
+        }
+        if (size == 0) {
+            maxReach = 0.0D;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        worlds.clear();
+        size = 0;
+        maxReach = 0.0D;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        if (size == 0) {
+            return;
+        }
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (to == null) {
+            return;
+        }
+        // Plain moves only matter when they cross into another section; teleports and respawns have their own events
+        if (from != null && from.getWorld() == to.getWorld()
+                && (from.getBlockX() >> CELL_SHIFT) == (to.getBlockX() >> CELL_SHIFT)
+                && (from.getBlockY() >> CELL_SHIFT) == (to.getBlockY() >> CELL_SHIFT)
+                && (from.getBlockZ() >> CELL_SHIFT) == (to.getBlockZ() >> CELL_SHIFT)) {
+            return;
+        }
+        wakeNear(to);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        wakeNear(event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        wakeNear(event.getRespawnLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        wakeNear(event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        wakeNear(event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        Chunk chunk = event.getChunk();
+        wakeChunk(event.getWorld(), chunk.getX(), chunk.getZ());
+    }
+
+    // Moves entries within reach of the point into wakeScratch; true when the bucket is left empty
+    private boolean collectNear(List<Entry<T>> bucket, double px, double py, double pz) {
+        for (int i = bucket.size() - 1; i >= 0; i--) {
+            Entry<T> entry = bucket.get(i);
+            double dx = entry.x - px;
+            double dy = entry.y - py;
+            double dz = entry.z - pz;
+            if (dx * dx + dy * dy + dz * dz <= entry.reachSquared) {
+                bucket.remove(i);
+                size--;
+                wakeScratch.add(entry.effect);
+            }
+        }
+        return bucket.isEmpty();
+    }
+
+    private void dropIfEmpty(World world, Map<Long, List<Entry<T>>> cells) {
+        if (cells.isEmpty()) {
+            worlds.remove(world);
+        }
+    }
+
+    // Wakers run after the index is consistent, since a woken effect may park again straight away
+    private void flushWakes() {
+        if (wakeScratch.isEmpty()) {
+            return;
+        }
+        List<T> woken = new ArrayList<>(wakeScratch);
+        wakeScratch.clear();
+        for (T effect : woken) {
+            waker.accept(effect);
+        }
+    }
+
+    private static int cell(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> CELL_SHIFT;
+    }
+
+    private static Long key(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,125 @@
+package com.winss.dustlab.render;
+
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Last step of the emit path: charges one dust particle against the {@link ParticleBudget} and each viewer's
+ * {@link ViewerBudget}, picks plain dust or a transition, and hands it to the {@link ParticleSink} for every
+ * viewer that can take it. Takes raw coordinates so emitting allocates nothing, and has no server
+ * dependencies, so tests can run it against a {@link RecordingParticleSink}. Main-thread only.
+ */
+public final class DustEmitter {
+
+    private final ParticleBudget particleBudget;
+    private final ViewerBudget viewerBudget;
+    private final EmissionStats emissionStats;
+    // Reused per emitted particle; the sink builds a single packet for all receivers
+    private final List<Player> receivers = new ArrayList<>();
+    private volatile ParticleSink sink = new BukkitParticleSink();
+    private volatile boolean animatedTransition = false;
+    private volatile boolean plainDustAllowed = true;
+
+    public DustEmitter(ParticleBudget particleBudget, ViewerBudget viewerBudget, EmissionStats emissionStats) {
+        this.particleBudget = particleBudget;
+        this.viewerBudget = viewerBudget;
+        this.emissionStats = emissionStats;
+    }
+
+    /**
+     * @param animatedTransition animated frames are sent as dust transitions rather than plain dust
+     * @param plainDustAllowed   static particles whose transition keeps its colour may go out as plain dust
+     */
+    public void configure(boolean animatedTransition, boolean plainDustAllowed) {
+        this.animatedTransition = animatedTransition;
+        this.plainDustAllowed = plainDustAllowed;
+    }
+
+    public ParticleSink getSink() {
+        return sink;
+    }
+
+    /**
+     * Replaces where particles are sent; null restores the {@link BukkitParticleSink}.
+     */
+    public void setSink(ParticleSink sink) {
+        this.sink = sink != null ? sink : new BukkitParticleSink();
+    }
+
+    /**
+     * Sends one dust particle to {@code viewers}. Charges the global budget for all of them, then each viewer's
+     * own cap; packets a viewer cannot take are refunded. Viewers whose level in {@code viewerLevels} (aligned
+     * with the viewer order, or null for full detail) is below {@code detailRank} are left out before their cap
+     * is charged. False when the budgets dropped the particle for everyone it was meant for.
+     *
+     * @param dustTransition matching same-colour transition, or null to build one on demand
+     */
+    public boolean emit(Collection<Player> viewers, int[] viewerLevels, int detailRank,
+                        World world, double x, double y, double z, Particle.DustOptions dustOptions, Particle.DustTransition dustTransition,
+                        int count, double offsetX, double offsetY, double offsetZ, double extra, boolean isAnimated, ViewerBudget.Priority priority) {
+        if (!particleBudget.tryConsume(viewers.size())) {
+            return false;
+        }
+        boolean transition = isAnimated ? animatedTransition : !canSendPlainDust(dustTransition);
+        int bytes = PacketCost.dust(transition);
+        receivers.clear();
+        int j = 0;
+        int lodSkipped = 0;
+        for (Player viewer : viewers) {
+            if (viewerLevels != null && viewerLevels[j++] < detailRank) {
+                lodSkipped++;
+                continue;
+            }
+            if (viewerBudget.tryAccept(viewer, bytes, priority)) {
+                receivers.add(viewer);
+            }
+        }
+        emissionStats.recordDetailSkipped(lodSkipped);
+        particleBudget.refund(viewers.size() - receivers.size());
+        if (!receivers.isEmpty()) {
+            broadcast(world, x, y, z, dustOptions, dustTransition, count, offsetX, offsetY, offsetZ, extra, isAnimated, transition);
+            emissionStats.record(receivers.size(), bytes, isAnimated || transition ? 0 : PacketCost.DUST_TRANSITION_BYTES - PacketCost.DUST_BYTES);
+            receivers.clear();
+            return true;
+        }
+        // Left out by level of detail alone is not a drop
+        return lodSkipped == viewers.size();
+    }
+
+    // A transition whose colours match renders exactly like plain dust, which is 12 bytes smaller on the wire
+    private boolean canSendPlainDust(Particle.DustTransition dustTransition) {
+        if (!plainDustAllowed) {
+            return false;
+        }
+        return dustTransition == null || dustTransition.getColor().equals(dustTransition.getToColor());
+    }
+
+    // One packet for every receiver, instead of being rebuilt per viewer by Player#spawnParticle
+    private void broadcast(World world, double x, double y, double z, Particle.DustOptions dustOptions, Particle.DustTransition sharedTransition,
+                           int count, double offsetX, double offsetY, double offsetZ, double extra, boolean isAnimated, boolean transition) {
+        if (isAnimated) {
+            // Minimal persistence for frames: one particle, no spread, no extra, to avoid smear and ghosting
+            count = 1;
+            offsetX = 0.0;
+            offsetY = 0.0;
+            offsetZ = 0.0;
+            extra = 0.0;
+        }
+        if (!transition) {
+            sink.spawn(receivers, Particle.REDSTONE, world, x, y, z, count, offsetX, offsetY, offsetZ, extra, dustOptions);
+            return;
+        }
+        try {
+            Particle.DustTransition dustTransition = sharedTransition != null ? sharedTransition
+                : new Particle.DustTransition(dustOptions.getColor(), dustOptions.getColor(), dustOptions.getSize());
+            sink.spawn(receivers, Particle.DUST_COLOR_TRANSITION, world, x, y, z, count, offsetX, offsetY, offsetZ, extra, dustTransition);
+        } catch (Exception e) {
+            sink.spawn(receivers, Particle.REDSTONE, world, x, y, z, count, offsetX, offsetY, offsetZ, extra, dustOptions);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.winss.dustlab.render;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Live effect instances indexed by their int effect ID, the number players see and type in commands.
+ * <p>
+ * Reads are lock-free: {@link #get} is an array load, and callers iterate with {@code for (id = 1; id <
+ * idBound(); id++)}, so neither boxes nor allocates. Threads other than the main thread (autosave, stats)
+ * read {@link #snapshot}, an immutable list in ID order that is rebuilt only after the registry changed.
+ * <p>
+ * Writes take a single lock. Stopped IDs go back on a free list and are handed out again lowest first;
+ * IDs {@link #reserve reserved} for instances still waiting to be restored are skipped until claimed or
+ * {@link #releaseReservations released}.
+ *
+ * @param <T> the per-instance entry
+ */
+public final class EffectRegistry<T> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Object lock = new Object();
+    private volatile AtomicReferenceArray<T> slots = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    private volatile int size = 0;
+    // Every ID in use lies below this; IDs at or above it have never been handed out
+    private volatile int idBound = 1;
+    private volatile List<T> snapshot = Collections.emptyList();
+
+    // Guarded by lock. Taken covers IDs allocated but not yet put, as well as live ones.
+    private final BitSet taken = new BitSet();
+    private final BitSet free = new BitSet();
+    private final BitSet reserved = new BitSet();
+
+    /**
+     * Entry registered under {@code id}, or null.
+     */
+    public T get(int id) {
+        AtomicReferenceArray<T> current = slots;
+        return id > 0 && id < current.length() ? current.get(id) : null;
+    }
+
+    /**
+     * Takes the lowest free ID that is not reserved, or a fresh one.
+     */
+    public int allocate() {
+        synchronized (lock) {
+            int id = free.nextSetBit(1);
+            while (id >= 0 && reserved.get(id)) {
+                id = free.nextSetBit(id + 1);
+            }
+            if (id < 0) {
+                id = idBound;
+                while (reserved.get(id)) {
+                    id++;
+                }
+            }
+            take(id);
+            return id;
+        }
+    }
+
+    /**
+     * Takes {@code id} if nobody holds it, including when it was reserved. False when it is in use.
+     */
+    public boolean claim(int id) {
+        if (id <= 0) {
+            return false;
+        }
+        synchronized (lock) {
+            if (taken.get(id)) {
+                return false;
+            }
+            take(id);
+            return true;
+        }
+    }
+
+    /**
+     * Holds {@code id} back from {@link #allocate} without taking it.
+     */
+    public void reserve(int id) {
+        if (id <= 0) {
+            return;
+        }
+        synchronized (lock) {
+            reserved.set(id);
+            if (id >= idBound) {
+                idBound = id + 1;
+            }
+        }
+    }
+
+    public void releaseReservations() {
+        synchronized (lock) {
+            reserved.clear();
+        }
+    }
+
+    /**
+     * Registers {@code entry} under {@code id}, taking the ID if it was not already.
+     */
+    public void put(int id, T entry) {
+        synchronized (lock) {
+            take(id);
+            AtomicReferenceArray<T> current = slots;
+            if (id >= current.length()) {
+                int capacity = current.length();
+                while (capacity <= id) {
+                    capacity *= 2;
+                }
+                AtomicReferenceArray<T> grown = new AtomicReferenceArray<>(capacity);
+                for (int i = 1; i < current.length(); i++) {
+                    grown.set(i, current.get(i));
+                }
+                slots = grown;
+                current = grown;
+            }
+            if (current.getAndSet(id, entry) == null) {
+                size++;
+            }
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Unregisters {@code id} if it still holds {@code expected}, so a late caller cannot remove whatever reused the ID.
+     */
+    public boolean remove(int id, T expected) {
+        synchronized (lock) {
+            AtomicReferenceArray<T> current = slots;
+            if (expected == null || id <= 0 || id >= current.length() || !current.compareAndSet(id, expected, null)) {
+                return false;
+            }
+            size--;
+            release(id);
+            snapshot = null;
+            return true;
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            AtomicReferenceArray<T> current = slots;
+            for (int i = 1; i < current.length(); i++) {
+                current.set(i, null);
+            }
+            free.or(taken);
+            taken.clear();
+            size = 0;
+            snapshot = Collections.emptyList();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Exclusive upper bound of the IDs in use.
+     */
+    public int idBound() {
+        return idBound;
+    }
+
+    /**
+     * Immutable list of the registered entries in ID order, shared until the next change. Safe from any thread.
+     */
+    public List<T> snapshot() {
+        List<T> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (lock) {
+            if (snapshot == null) {
+                AtomicReferenceArray<T> slotsNow = slots;
+                List<T> entries = new ArrayList<>(size);
+                for (int i = 1; i < slotsNow.length(); i++) {
+                    T entry = slotsNow.get(i);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+                snapshot = Collections.unmodifiableList(entries);
+            }
+            return snapshot;
+        }
+    }
+
+    private void take(int id) {
+        taken.set(id);
+        free.clear(id);
+        reserved.clear(id);
+        if (id >= idBound) {
+            idBound = id + 1;
+        }
+    }
+
+    private void release(int id) {
+        taken.clear(id);
+        free.set(id);
+    }
+}
@@ -0,0 +1,70 @@
+package com.winss.dustlab.render;
+
+/**
+ * Per-tick counters for what the emission layer actually put on the wire, plus the bytes saved
+ * by sending plain dust where an identical-colour transition would otherwise have been sent.
+ * <p>
+ * Written on the main thread; the last-tick and total values may be read from anywhere.
+ */
+public final class EmissionStats {
+
+    private long packets = 0L;
+    private long bytes = 0L;
+    private long bytesSaved = 0L;
+    private long detailSkipped = 0L;
+
+    private volatile long lastTickPackets = 0L;
+    private volatile long lastTickBytes = 0L;
+    private volatile long lastTickBytesSaved = 0L;
+    private volatile long totalBytesSaved = 0L;
+    private volatile long lastTickDetailSkipped = 0L;
+
+    public void beginTick() {
+        lastTickPackets = packets;
+        lastTickBytes = bytes;
+        lastTickBytesSaved = bytesSaved;
+        totalBytesSaved += bytesSaved;
+        lastTickDetailSkipped = detailSkipped;
+        packets = 0L;
+        bytes = 0L;
+        bytesSaved = 0L;
+        detailSkipped = 0L;
+    }
+
+    /**
+     * Records {@code receivers} packets of {@code packetBytes} each, and {@code savedPerPacket} bytes
+     * saved per packet against the packet type that would have been sent without the policy.
+     */
+    public void record(int receivers, int packetBytes, int savedPerPacket) {
+        packets += receivers;
+        bytes += (long) receivers * packetBytes;
+        bytesSaved += (long) receivers * savedPerPacket;
+    }
+
+    /**
+     * Packets not sent because the viewer's level of detail leaves the particle out.
+     */
+    public void recordDetailSkipped(int skipped) {
+        detailSkipped += skipped;
+    }
+
+    public long getLastTickPackets() {
+        return lastTickPackets;
+    }
+
+    public long getLastTickBytes() {
+        return lastTickBytes;
+    }
+
+    public long getLastTickBytesSaved() {
+        return lastTickBytesSaved;
+    }
+
+    public long getTotalBytesSaved() {
+        return totalBytesSaved;
+    }
+
+    public long getLastTickDetailSkipped() {
+        return lastTickDetailSkipped;
+    }
+}
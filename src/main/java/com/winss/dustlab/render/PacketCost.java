@@ -0,0 +1,23 @@
+package com.winss.dustlab.render;
+
+/**
+ * Rough wire size of the particle packets DustLab sends, used for bandwidth accounting.
+ * Layout (1.20): frame length + packet id, particle id (varint), long-distance flag,
+ * position (3 doubles), offset (3 floats), speed (float), count (int), then the particle data.
+ */
+public final class PacketCost {
+
+    private static final int HEADER_BYTES = 3 + 1 + 1 + 24 + 12 + 4 + 4;
+
+    /** REDSTONE dust: RGB floats + scale float. */
+    public static final int DUST_BYTES = HEADER_BYTES + 16;
+    /** DUST_COLOR_TRANSITION: from RGB + scale + to RGB. */
+    public static final int DUST_TRANSITION_BYTES = HEADER_BYTES + 28;
+
+    private PacketCost() {
+    }
+
+    public static int dust(boolean transition) {
+        return transition ? DUST_TRANSITION_BYTES : DUST_BYTES;
+    }
+}
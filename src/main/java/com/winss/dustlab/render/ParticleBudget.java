@@ -0,0 +1,167 @@
+package com.winss.dustlab.render;
+
+/**
+ * Server-wide particle packet budget shared by every effect rendered on the {@link RenderLoop}.
+ * <p>
+ * Each tick starts with the configured allowance plus whatever went unspent last tick (capped).
+ * Effects ask for a grant weighted by their viewers; the grant is their share of the tick budget,
+ * measured against the total weight requested during the previous tick. Packets are counted as
+ * particles times receiving viewers, since that is what actually hits the network.
+ * <p>
+ * Main-thread only: the render loop opens and closes grants sequentially.
+ */
+public final class ParticleBudget {
+
+    private volatile boolean enabled = true;
+    private volatile int perTick = 20000;
+    private volatile int maxCarryOver = 20000;
+
+    private long available = 0L;
+    private long spent = 0L;
+    private double lastTickWeight = 0.0D;
+    private double tickWeight = 0.0D;
+
+    // Grant state of the effect currently rendering
+    private long grantRemaining = Long.MAX_VALUE;
+    private boolean grantOpen = false;
+
+    // Stats for the previous completed tick
+    private volatile long lastTickSpent = 0L;
+    private volatile long lastTickDenied = 0L;
+    private volatile long lastTickAvailable = 0L;
+    private long denied = 0L;
+    // Whether some pass this tick stopped early on a spent grant, and the same for the previous tick
+    private boolean truncated = false;
+    private boolean lastTickTruncated = false;
+
+    public void configure(boolean enabled, int perTick, int maxCarryOver) {
+        this.enabled = enabled;
+        this.perTick = Math.max(1, perTick);
+        this.maxCarryOver = Math.max(0, maxCarryOver);
+    }
+
+    /**
+     * Rolls the budget into a new tick. Called by the render loop before any renderer runs.
+     */
+    public void beginTick() {
+        lastTickSpent = spent;
+        lastTickDenied = denied;
+        lastTickTruncated = truncated;
+        lastTickAvailable = available;
+
+        long carry = Math.max(0L, Math.min(available - spent, maxCarryOver));
+        available = perTick + carry;
+        spent = 0L;
+        denied = 0L;
+        truncated = false;
+        lastTickWeight = tickWeight;
+        tickWeight = 0.0D;
+    }
+
+    /**
+     * Opens a grant for one effect render pass. Weight should reflect how many viewers benefit
+     * and how close they are; an effect with weight 0 is not granted anything.
+     */
+    public void open(double weight) {
+        grantOpen = true;
+        if (!enabled) {
+            grantRemaining = Long.MAX_VALUE;
+            return;
+        }
+        if (weight <= 0.0D) {
+            grantRemaining = 0L;
+            return;
+        }
+        tickWeight += weight;
+        long remainingThisTick = Math.max(0L, available - spent);
+        // Effects new this tick were not part of last tick's total; count them in so one newcomer cannot take everything
+        double totalWeight = Math.max(lastTickWeight, tickWeight);
+        long share = (long) Math.ceil(available * (weight / totalWeight));
+        grantRemaining = Math.min(share, remainingThisTick);
+    }
+
+    /**
+     * Reserves {@code packets} from the open grant. Returns false (and records the denial) if it does not fit;
+     * the grant then counts as exhausted, so callers stop walking the model instead of being denied per particle.
+     * What was left of it stays in the tick pool.
+     */
+    public boolean tryConsume(int packets) {
+        if (!grantOpen) {
+            return true;
+        }
+        if (packets > grantRemaining) {
+            denied += packets;
+            grantRemaining = 0L;
+            return false;
+        }
+        grantRemaining -= packets;
+        if (enabled) {
+            spent += packets;
+        }
+        return true;
+    }
+
+    /**
+     * Returns packets reserved by {@link #tryConsume(int)} that were not actually sent (e.g. dropped by a viewer cap).
+     */
+    public void refund(int packets) {
+        if (!grantOpen || packets <= 0) {
+            return;
+        }
+        grantRemaining += packets;
+        if (enabled) {
+            spent -= packets;
+        }
+    }
+
+    /**
+     * True once the open grant is spent. Callers ask before each particle, so a true answer means the pass is
+     * stopping with particles left, which counts as truncation even when the grant ran out exactly.
+     */
+    public boolean isExhausted() {
+        if (grantOpen && grantRemaining <= 0L) {
+            truncated = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Where a pass over {@code count} particles should start. When the budget truncated emission last tick the
+     * start rotates with the tick, so no part of a model is starved; otherwise it is 0.
+     */
+    public int rotationStart(long tick, int count) {
+        if ((lastTickDenied == 0L && !lastTickTruncated) || count <= 1) {
+            return 0;
+        }
+        return (int) ((tick * 7919L) % count);
+    }
+
+    /**
+     * Closes the current grant; unspent allowance stays in the tick pool for later effects and carries over.
+     */
+    public void close() {
+        grantOpen = false;
+        grantRemaining = Long.MAX_VALUE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getPerTick() {
+        return perTick;
+    }
+
+    public long getLastTickSpent() {
+        return lastTickSpent;
+    }
+
+    public long getLastTickDenied() {
+        return lastTickDenied;
+    }
+
+    public long getLastTickAvailable() {
+        return lastTickAvailable;
+    }
+}
@@ -0,0 +1,22 @@
+package com.winss.dustlab.render;
+
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+
+/**
+ * Where the render loop sends particles. The default {@link BukkitParticleSink} writes packets
+ * through Paper; {@link RecordingParticleSink} only counts them, so render throughput can be
+ * measured without a live server. Implementations are called from the main thread only and must
+ * not keep the receiver list, which the caller reuses.
+ */
+public interface ParticleSink {
+
+    /**
+     * Sends one particle to every receiver, with Bukkit's {@code count}/offset/extra semantics.
+     */
+    void spawn(List<Player> receivers, Particle type, World world, double x, double y, double z,
+               int count, double offsetX, double offsetY, double offsetZ, double extra, Object data);
+}
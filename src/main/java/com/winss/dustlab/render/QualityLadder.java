@@ -0,0 +1,105 @@
+package com.winss.dustlab.render;
+
+/**
+ * Server-load driven quality level for the render loop. Each step is cumulative: once the average
+ * milliseconds per tick (MSPT) reaches a step's threshold, static models are re-sent less often, then
+ * distant viewers drop one level of detail, then static location effects pause entirely while animated
+ * and player-attached effects keep running.
+ * <p>
+ * Stepping down happens as soon as the average crosses a threshold. Stepping back up needs the average
+ * to stay {@code recoveryMargin} below the current step's threshold for {@code recoveryTicks} ticks in a row,
+ * and climbs one step at a time, so a server hovering around a threshold does not flap between levels.
+ * <p>
+ * Main-thread only: updated from the tick-end event and read by the renderers.
+ */
+public final class QualityLadder {
+
+    public enum Level { FULL, REDUCED_FREQUENCY, REDUCED_DETAIL, ESSENTIAL_ONLY }
+
+    private static final Level[] LEVELS = Level.values();
+
+    private volatile boolean enabled = true;
+    // Threshold to enter LEVELS[i + 1]
+    private volatile double[] thresholds = {45.0D, 48.0D, 55.0D};
+    private volatile double recoveryMargin = 5.0D;
+    private volatile int recoveryTicks = 100;
+
+    private volatile Level level = Level.FULL;
+    private int ticksRecovered = 0;
+    private volatile long stepDowns = 0L;
+
+    public void configure(boolean enabled, double reduceFrequencyMspt, double reduceDetailMspt, double pauseLowPriorityMspt,
+                          double recoveryMargin, int recoveryTicks) {
+        this.enabled = enabled;
+        double first = Math.max(1.0D, reduceFrequencyMspt);
+        double second = Math.max(first, reduceDetailMspt);
+        double third = Math.max(second, pauseLowPriorityMspt);
+        this.thresholds = new double[] {first, second, third};
+        this.recoveryMargin = Math.max(0.0D, recoveryMargin);
+        this.recoveryTicks = Math.max(1, recoveryTicks);
+        if (!enabled) {
+            level = Level.FULL;
+            ticksRecovered = 0;
+        }
+    }
+
+    /**
+     * Moves the level for the latest rolling MSPT average. Called once per server tick.
+     */
+    public void update(double averageMspt) {
+        if (!enabled) {
+            return;
+        }
+        double[] limits = thresholds;
+        int current = level.ordinal();
+        int target = 0;
+        while (target < limits.length && averageMspt >= limits[target]) {
+            target++;
+        }
+
+        if (target > current) {
+            level = LEVELS[target];
+            ticksRecovered = 0;
+            stepDowns++;
+            return;
+        }
+        if (current > 0 && averageMspt < limits[current - 1] - recoveryMargin) {
+            if (++ticksRecovered >= recoveryTicks) {
+                level = LEVELS[current - 1];
+                ticksRecovered = 0;
+            }
+        } else {
+            ticksRecovered = 0;
+        }
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Factor applied to the re-send interval of static particles.
+     */
+    public int getStaticIntervalMultiplier() {
+        return level.ordinal() >= Level.REDUCED_FREQUENCY.ordinal() ? 2 : 1;
+    }
+
+    /**
+     * Levels of detail subtracted from every viewer's distance-based level.
+     */
+    public int getDetailLevelShift() {
+        return level.ordinal() >= Level.REDUCED_DETAIL.ordinal() ? 1 : 0;
+    }
+
+    public boolean isLowPriorityPaused() {
+        return level == Level.ESSENTIAL_ONLY;
+    }
+
+    public long getStepDowns() {
+        return stepDowns;
+    }
+}
@@ -0,0 +1,89 @@
+package com.winss.dustlab.render;
+
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory sink for benchmarks and tests: counts calls, particles and packets per particle type
+ * and keeps the first {@code capacity} spawns, without touching the network.
+ */
+public final class RecordingParticleSink implements ParticleSink {
+
+    /**
+     * One recorded spawn; {@code receivers} is the number of players it was sent to.
+     */
+    public record Spawn(Particle type, double x, double y, double z, int count, Object data, int receivers) {
+    }
+
+    private final int capacity;
+    private final List<Spawn> spawns = new ArrayList<>();
+    private final Map<Particle, Long> packetsByType = new EnumMap<>(Particle.class);
+    private long calls = 0L;
+    private long particles = 0L;
+    private long packets = 0L;
+
+    public RecordingParticleSink() {
+        this(0);
+    }
+
+    /**
+     * @param capacity spawns kept for inspection; 0 only counts
+     */
+    public RecordingParticleSink(int capacity) {
+        this.capacity = Math.max(0, capacity);
+    }
+
+    @Override
+    public void spawn(List<Player> receivers, Particle type, World world, double x, double y, double z,
+                      int count, double offsetX, double offsetY, double offsetZ, double extra, Object data) {
+        calls++;
+        record(type, x, y, z, count, data, receivers.size());
+    }
+
+    private void record(Particle type, double x, double y, double z, int count, Object data, int receivers) {
+        particles++;
+        packets += receivers;
+        packetsByType.merge(type, (long) receivers, Long::sum);
+        if (spawns.size() < capacity) {
+            spawns.add(new Spawn(type, x, y, z, count, data, receivers));
+        }
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getParticles() {
+        return particles;
+    }
+
+    /**
+     * Particles times receivers, i.e. packets a real sink would have written.
+     */
+    public long getPackets() {
+        return packets;
+    }
+
+    public long getPackets(Particle type) {
+        return packetsByType.getOrDefault(type, 0L);
+    }
+
+    public List<Spawn> getSpawns() {
+        return Collections.unmodifiableList(spawns);
+    }
+
+    public void reset() {
+        spawns.clear();
+        packetsByType.clear();
+        calls = 0L;
+        particles = 0L;
+        packets = 0L;
+    }
+}
@@ -0,0 +1,208 @@
+package com.winss.dustlab.render;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Single main-thread render loop that drives every active effect instance.
+ * Effects register a {@link Runnable} here instead of owning their own {@link BukkitTask},
+ * so the Bukkit scheduler holds one repeating task regardless of how many instances are placed,
+ * and ordering, budgets and per-tick timing are controlled in one place.
+ */
+public final class RenderLoop implements Runnable {
+
+    private static final int TIMING_WINDOW = 100; // ticks kept for the rolling average
+
+    private final Plugin plugin;
+    private final Runnable tickStartHook;
+    // Registrations can arrive from any thread; they are folded into the dense array at the start of a tick
+    private final ConcurrentLinkedQueue<Handle> pending = new ConcurrentLinkedQueue<>();
+    private Handle[] handles = new Handle[64];
+    private int size = 0;
+    private BukkitTask task;
+    private long loopTick = 0L;
+
+    private final long[] tickNanos = new long[TIMING_WINDOW];
+    private long tickNanosSum = 0L;
+    private int timingSamples = 0;
+    private volatile long lastTickNanos = 0L;
+
+    public RenderLoop(Plugin plugin) {
+        this(plugin, null);
+    }
+
+    /**
+     * @param tickStartHook runs once at the start of every loop tick, before any render task (e.g. budget rollover)
+     */
+    public RenderLoop(Plugin plugin, Runnable tickStartHook) {
+        this.plugin = plugin;
+        this.tickStartHook = tickStartHook;
+    }
+
+    public synchronized void start() {
+        if (task != null) {
+            return;
+        }
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (int i = 0; i < size; i++) {
+            handles[i].cancel();
+            handles[i] = null;
+        }
+        size = 0;
+        Handle h;
+        while ((h = pending.poll()) != null) {
+            h.cancel();
+        }
+    }
+
+    /**
+     * Registers a render task that runs every {@code periodTicks} ticks starting with the next loop tick.
+     * The returned handle replaces the old per-effect {@link BukkitTask}; cancelling it unregisters the task.
+     */
+    public Handle schedule(Runnable renderTask, int periodTicks) {
+        Handle handle = new Handle(renderTask, Math.max(1, periodTicks));
+        pending.add(handle);
+        return handle;
+    }
+
+    /**
+     * Takes a task out of the loop without cancelling it; it costs nothing until {@link #wake}. Main-thread only.
+     */
+    public void park(Handle handle) {
+        handle.parked = true;
+    }
+
+    /**
+     * Puts a parked task back into the loop from the next loop tick.
+     */
+    public void wake(Handle handle) {
+        if (handle.parked && !handle.cancelled) {
+            handle.parked = false;
+            pending.add(handle);
+        }
+    }
+
+    @Override
+    public void run() {
+        long started = System.nanoTime();
+        drainPending();
+        if (tickStartHook != null) {
+            tickStartHook.run();
+        }
+
+        int write = 0;
+        for (int read = 0; read < size; read++) {
+            Handle handle = handles[read];
+            if (handle.cancelled || handle.parked) {
+                handle.scheduled = false;
+                continue;
+            }
+            if (handle.period == 1 || (loopTick - handle.startTick) % handle.period == 0) {
+                try {
+                    handle.task.run();
+                } catch (Throwable t) {
+                    plugin.getLogger().warning("Render task failed: " + t.getMessage());
+                }
+            }
+            // A task may cancel or park itself while running; drop it now rather than next tick
+            if (!handle.cancelled && !handle.parked) {
+                handles[write++] = handle;
+            } else {
+                handle.scheduled = false;
+            }
+        }
+        for (int i = write; i < size; i++) {
+            handles[i] = null;
+        }
+        size = write;
+        loopTick++;
+
+        recordTiming(System.nanoTime() - started);
+    }
+
+    private void drainPending() {
+        Handle handle;
+        while ((handle = pending.poll()) != null) {
+            // Parked and woken again before the loop dropped it: it is still in the array
+            if (handle.cancelled || handle.parked || handle.scheduled) {
+                continue;
+            }
+            if (size == handles.length) {
+                handles = Arrays.copyOf(handles, size * 2);
+            }
+            handle.startTick = loopTick;
+            handle.scheduled = true;
+            handles[size++] = handle;
+        }
+    }
+
+    private void recordTiming(long nanos) {
+        int slot = (int) (loopTick % TIMING_WINDOW);
+        if (timingSamples < TIMING_WINDOW) {
+            timingSamples++;
+        } else {
+            tickNanosSum -= tickNanos[slot];
+        }
+        tickNanos[slot] = nanos;
+        tickNanosSum += nanos;
+        lastTickNanos = nanos;
+    }
+
+    public int getTaskCount() {
+        return size + pending.size();
+    }
+
+    public long getLoopTick() {
+        return loopTick;
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public double getAverageTickMillis() {
+        int samples = timingSamples;
+        return samples > 0 ? (tickNanosSum / (double) samples) / 1_000_000.0D : 0.0D;
+    }
+
+    /**
+     * Registration handle for a render task; the loop drops cancelled handles on its next pass.
+     */
+    public static final class Handle {
+        private final Runnable task;
+        private final int period;
+        private long startTick;
+        private volatile boolean cancelled = false;
+        // Main thread only: parked tasks are out of the array until woken; scheduled means currently in it
+        private boolean parked = false;
+        private boolean scheduled = false;
+
+        private Handle(Runnable task, int period) {
+            this.task = task;
+            this.period = period;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isParked() {
+            return parked;
+        }
+    }
+}
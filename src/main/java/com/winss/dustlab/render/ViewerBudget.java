@@ -0,0 +1,97 @@
+package com.winss.dustlab.render;
+
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-player cap on particles and estimated bytes received per tick, summed over every effect.
+ * <p>
+ * Normal-priority emission (static location models) may only fill part of the cap so that
+ * high-priority emission (player-attached effects, animated frames) still gets through when
+ * a viewer stands between several large models. Whatever does not fit is dropped for this tick;
+ * dust is re-emitted on the next cycle, so overflow shows up as thinning rather than gaps.
+ * <p>
+ * Main-thread only.
+ */
+public final class ViewerBudget {
+
+    public enum Priority { NORMAL, HIGH }
+
+    private static final int PURGE_INTERVAL_TICKS = 1200;
+
+    private volatile boolean enabled = true;
+    private volatile int maxParticlesPerTick = 1000;
+    private volatile int maxBytesPerTick = 65536;
+    private volatile double normalPriorityShare = 0.75D;
+
+    private final Map<UUID, Usage> usage = new HashMap<>();
+    private long tick = 0L;
+    private long dropped = 0L;
+    private volatile long lastTickDropped = 0L;
+
+    public void configure(boolean enabled, int maxParticlesPerTick, int maxBytesPerTick, double normalPriorityShare) {
+        this.enabled = enabled;
+        this.maxParticlesPerTick = Math.max(1, maxParticlesPerTick);
+        this.maxBytesPerTick = Math.max(1, maxBytesPerTick);
+        this.normalPriorityShare = Math.max(0.0D, Math.min(1.0D, normalPriorityShare));
+    }
+
+    public void beginTick() {
+        tick++;
+        lastTickDropped = dropped;
+        dropped = 0L;
+        if (tick % PURGE_INTERVAL_TICKS == 0) {
+            Iterator<Usage> it = usage.values().iterator();
+            while (it.hasNext()) {
+                if (tick - it.next().tick > PURGE_INTERVAL_TICKS) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Charges one particle packet of {@code bytes} to the viewer. Returns false if it must be skipped.
+     */
+    public boolean tryAccept(Player viewer, int bytes, Priority priority) {
+        if (!enabled) {
+            return true;
+        }
+        Usage u = usage.get(viewer.getUniqueId());
+        if (u == null) {
+            u = new Usage();
+            usage.put(viewer.getUniqueId(), u);
+        }
+        if (u.tick != tick) {
+            u.tick = tick;
+            u.particles = 0;
+            u.bytes = 0;
+        }
+        double share = priority == Priority.HIGH ? 1.0D : normalPriorityShare;
+        if (u.particles + 1 > maxParticlesPerTick * share || u.bytes + bytes > maxBytesPerTick * share) {
+            dropped++;
+            return false;
+        }
+        u.particles++;
+        u.bytes += bytes;
+        return true;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getLastTickDropped() {
+        return lastTickDropped;
+    }
+
+    private static final class Usage {
+        long tick = -1L;
+        int particles;
+        int bytes;
+    }
+}
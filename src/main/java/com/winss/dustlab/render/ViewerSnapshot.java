@@ -0,0 +1,370 @@
+package com.winss.dustlab.render;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Per-tick snapshot of online player positions and particle visibility, bucketed into a 16-block
+ * (chunk-sized) grid per world. Effects query it instead of scanning entities with
+ * {@code World#getNearbyPlayers} and re-checking permissions each time.
+ * <p>
+ * Queries made with an effect key get hysteresis: a player who was a viewer of that effect last
+ * tick stays one until they are {@code hysteresis} blocks beyond the radius, so players standing
+ * on the edge do not flap in and out.
+ * <p>
+ * Main-thread only; rebuilt by the render loop at the start of every tick.
+ */
+public final class ViewerSnapshot {
+
+    private static final int CELL_SHIFT = 4; // 16-block cells
+    private static final int TRACKER_EXPIRY_TICKS = 40;
+
+    private final Predicate<Player> visibility;
+    private volatile double hysteresis = 4.0D;
+
+    private final Map<World, WorldView> worlds = new IdentityHashMap<>();
+    // Stable small ids so per-effect membership fits in a BitSet
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final BitSet usedSlots = new BitSet();
+    private final Map<String, Tracker> trackers = new HashMap<>();
+    private long tick = 0L;
+
+    private double lastQueryWeight = 0.0D;
+    private double[] lastQueryDistances = new double[16];
+    private int[] lastQueryNewcomers = new int[16];
+    private int lastQueryNewcomerCount = 0;
+
+    /**
+     * @param visibility permission check for viewers that are not force-visible; evaluated once per player per tick
+     */
+    public ViewerSnapshot(Predicate<Player> visibility) {
+        this.visibility = visibility;
+    }
+
+    public void setHysteresis(double hysteresis) {
+        this.hysteresis = Math.max(0.0D, hysteresis);
+    }
+
+    public void rebuild() {
+        tick++;
+        worlds.clear();
+        Collection<? extends Player> online = Bukkit.getOnlinePlayers();
+        BitSet seen = new BitSet();
+        for (Player player : online) {
+            Location location = player.getLocation();
+            World world = location.getWorld();
+            if (world == null) {
+                continue;
+            }
+            WorldView view = worlds.get(world);
+            if (view == null) {
+                view = new WorldView();
+                worlds.put(world, view);
+            }
+            int slot = slotOf(player.getUniqueId());
+            seen.set(slot);
+            view.add(player, slot, location.getX(), location.getY(), location.getZ(), visibility.test(player));
+        }
+        for (WorldView view : worlds.values()) {
+            view.index();
+        }
+        // Release slots of players who left, and forget them as viewers so whoever gets the slot next starts fresh
+        BitSet released = null;
+        Iterator<Map.Entry<UUID, Integer>> it = slots.entrySet().iterator();
+        while (it.hasNext()) {
+            int slot = it.next().getValue();
+            if (!seen.get(slot)) {
+                usedSlots.clear(slot);
+                it.remove();
+                if (released == null) {
+                    released = new BitSet();
+                }
+                released.set(slot);
+            }
+        }
+        if (released != null) {
+            for (Tracker tracker : trackers.values()) {
+                tracker.members.andNot(released);
+            }
+        }
+        if (tick % TRACKER_EXPIRY_TICKS == 0) {
+            trackers.values().removeIf(t -> tick - t.lastUsed > TRACKER_EXPIRY_TICKS);
+        }
+    }
+
+    /**
+     * Viewers within {@code radius} of {@code origin}. When {@code effectKey} is non-null, last tick's
+     * viewers of that effect are kept until they leave {@code radius + hysteresis}.
+     * The viewer weight used by the budget is available from {@link #lastQueryWeight()} afterwards.
+     */
+    public List<Player> query(String effectKey, Location origin, double radius, boolean forceVisible) {
+        lastQueryWeight = 0.0D;
+        lastQueryNewcomerCount = 0;
+        if (origin == null) {
+            return Collections.emptyList();
+        }
+        WorldView view = worlds.get(origin.getWorld());
+        if (view == null || view.size == 0) {
+            if (effectKey != null) {
+                Tracker tracker = trackers.get(effectKey);
+                if (tracker != null) {
+                    tracker.members.clear();
+                    tracker.lastUsed = tick;
+                }
+            }
+            return Collections.emptyList();
+        }
+
+        Tracker tracker = null;
+        if (effectKey != null) {
+            tracker = trackers.get(effectKey);
+            if (tracker == null) {
+                tracker = new Tracker();
+                trackers.put(effectKey, tracker);
+            }
+            tracker.lastUsed = tick;
+        }
+
+        double ox = origin.getX();
+        double oy = origin.getY();
+        double oz = origin.getZ();
+        double outer = tracker != null ? radius + hysteresis : radius;
+        double radiusSquared = radius * radius;
+        double outerSquared = outer * outer;
+
+        List<Player> result = new ArrayList<>();
+        BitSet previous = tracker != null ? tracker.members : null;
+        BitSet next = tracker != null ? new BitSet() : null;
+
+        int minCellX = cell(ox - outer);
+        int maxCellX = cell(ox + outer);
+        int minCellZ = cell(oz - outer);
+        int maxCellZ = cell(oz + outer);
+        long cellsToScan = (long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1);
+
+        if (cellsToScan >= view.size) {
+            // Few players in this world: a straight scan is cheaper than walking the grid
+            for (int i = 0; i < view.size; i++) {
+                consider(view, i, ox, oy, oz, radiusSquared, outerSquared, forceVisible, previous, next, radius, result);
+            }
+        } else {
+            for (int cx = minCellX; cx <= maxCellX; cx++) {
+                for (int cz = minCellZ; cz <= maxCellZ; cz++) {
+                    int[] bucket = view.grid.get(key(cx, cz));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (int i : bucket) {
+                        consider(view, i, ox, oy, oz, radiusSquared, outerSquared, forceVisible, previous, next, radius, result);
+                    }
+                }
+            }
+        }
+        if (tracker != null) {
+            tracker.members = next;
+        }
+        return result;
+    }
+
+    /**
+     * Positions, in the last query's result, of viewers that were not viewers of that effect on its previous
+     * query; only the first {@link #lastQueryNewcomerCount()} entries are meaningful. Always empty for queries
+     * without an effect key. Reused by the next query.
+     */
+    public int[] lastQueryNewcomers() {
+        return lastQueryNewcomers;
+    }
+
+    public int lastQueryNewcomerCount() {
+        return lastQueryNewcomerCount;
+    }
+
+    /**
+     * True if any player, whether allowed to see particles or not, is within {@code radius} of {@code origin}.
+     * Does not allocate or touch hysteresis state.
+     */
+    public boolean anyWithin(Location origin, double radius) {
+        WorldView view = origin != null ? worlds.get(origin.getWorld()) : null;
+        if (view == null || view.size == 0) {
+            return false;
+        }
+        double ox = origin.getX();
+        double oy = origin.getY();
+        double oz = origin.getZ();
+        double radiusSquared = radius * radius;
+        int minCellX = cell(ox - radius);
+        int maxCellX = cell(ox + radius);
+        int minCellZ = cell(oz - radius);
+        int maxCellZ = cell(oz + radius);
+        if ((long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1) >= view.size) {
+            for (int i = 0; i < view.size; i++) {
+                if (within(view, i, ox, oy, oz, radiusSquared)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cz = minCellZ; cz <= maxCellZ; cz++) {
+                int[] bucket = view.grid.get(key(cx, cz));
+                if (bucket == null) {
+                    continue;
+                }
+                for (int i : bucket) {
+                    if (within(view, i, ox, oy, oz, radiusSquared)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean within(WorldView view, int i, double ox, double oy, double oz, double radiusSquared) {
+        double dx = view.x[i] - ox;
+        double dy = view.y[i] - oy;
+        double dz = view.z[i] - oz;
+        return dx * dx + dy * dy + dz * dz <= radiusSquared;
+    }
+
+    /**
+     * Sum over the last query's viewers of 0.25 + 0.75 * closeness, so near viewers weigh more.
+     */
+    public double lastQueryWeight() {
+        return lastQueryWeight;
+    }
+
+    /**
+     * Distance of each viewer returned by the last query from its origin, in result order.
+     * Reused by the next query, so read it before querying again.
+     */
+    public double[] lastQueryDistances() {
+        return lastQueryDistances;
+    }
+
+    private void consider(WorldView view, int i, double ox, double oy, double oz, double radiusSquared, double outerSquared,
+                          boolean forceVisible, BitSet previous, BitSet next, double radius, List<Player> result) {
+        if (!forceVisible && !view.canView[i]) {
+            return;
+        }
+        double dx = view.x[i] - ox;
+        double dy = view.y[i] - oy;
+        double dz = view.z[i] - oz;
+        double d2 = dx * dx + dy * dy + dz * dz;
+        int slot = view.slot[i];
+        boolean inside = d2 <= radiusSquared || (previous != null && d2 <= outerSquared && previous.get(slot));
+        if (!inside) {
+            return;
+        }
+        int at = result.size();
+        result.add(view.players[i]);
+        if (next != null) {
+            next.set(slot);
+        }
+        double distance = Math.sqrt(d2);
+        if (at == lastQueryDistances.length) {
+            lastQueryDistances = Arrays.copyOf(lastQueryDistances, at * 2);
+        }
+        lastQueryDistances[at] = distance;
+        if (previous != null && !previous.get(slot)) {
+            if (lastQueryNewcomerCount == lastQueryNewcomers.length) {
+                lastQueryNewcomers = Arrays.copyOf(lastQueryNewcomers, lastQueryNewcomerCount * 2);
+            }
+            lastQueryNewcomers[lastQueryNewcomerCount++] = at;
+        }
+        double closeness = 1.0D - Math.min(1.0D, distance / radius);
+        lastQueryWeight += 0.25D + 0.75D * closeness;
+    }
+
+    private int slotOf(UUID id) {
+        Integer slot = slots.get(id);
+        if (slot == null) {
+            slot = usedSlots.nextClearBit(0);
+            usedSlots.set(slot);
+            slots.put(id, slot);
+        }
+        return slot;
+    }
+
+    public int getPlayerCount() {
+        int total = 0;
+        for (WorldView view : worlds.values()) {
+            total += view.size;
+        }
+        return total;
+    }
+
+    private static int cell(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> CELL_SHIFT;
+    }
+
+    private static long key(int cx, int cz) {
+        return ((long) cx << 32) ^ (cz & 0xFFFFFFFFL);
+    }
+
+    private static final class Tracker {
+        BitSet members = new BitSet();
+        long lastUsed;
+    }
+
+    private static final class WorldView {
+        Player[] players = new Player[8];
+        int[] slot = new int[8];
+        double[] x = new double[8];
+        double[] y = new double[8];
+        double[] z = new double[8];
+        boolean[] canView = new boolean[8];
+        int size = 0;
+        final Map<Long, int[]> grid = new HashMap<>();
+
+        void add(Player player, int playerSlot, double px, double py, double pz, boolean visible) {
+            if (size == players.length) {
+                int capacity = size * 2;
+                players = Arrays.copyOf(players, capacity);
+                slot = Arrays.copyOf(slot, capacity);
+                x = Arrays.copyOf(x, capacity);
+                y = Arrays.copyOf(y, capacity);
+                z = Arrays.copyOf(z, capacity);
+                canView = Arrays.copyOf(canView, capacity);
+            }
+            players[size] = player;
+            slot[size] = playerSlot;
+            x[size] = px;
+            y[size] = py;
+            z[size] = pz;
+            canView[size] = visible;
+            size++;
+        }
+
+        void index() {
+            Map<Long, Integer> counts = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                counts.merge(key(cell(x[i]), cell(z[i])), 1, Integer::sum);
+            }
+            for (Map.Entry<Long, Integer> entry : counts.entrySet()) {
+                grid.put(entry.getKey(), new int[entry.getValue()]);
+            }
+            Map<Long, Integer> fill = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                long k = key(cell(x[i]), cell(z[i]));
+                int at = fill.merge(k, 1, Integer::sum) - 1;
+                grid.get(k)[at] = i;
+            }
+        }
+    }
+}
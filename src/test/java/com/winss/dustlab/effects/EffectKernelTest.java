@@ -0,0 +1,57 @@
+package com.winss.dustlab.effects;
+
+import com.winss.dustlab.packed.PackedParticleArray;
+
+import java.util.Random;
+
+//  Test class to verify the batch effect kernel over packed columns matches the per-particle effect maths
+public class EffectKernelTest {
+
+    private static final String[] PRESETS = {
+        "rotate", "rotate-xyz", "oscillate", "pulse", "bounce", "flow", "swirl", "wave", "orbit", "spiral"
+    };
+
+    public static void main(String[] args) {
+        Random random = new Random(7L);
+        PackedParticleArray.Builder builder = PackedParticleArray.builder(500);
+        for (int i = 0; i < 500; i++) {
+            builder.add(random.nextDouble() * 6.0 - 3.0, random.nextDouble() * 6.0 - 3.0, random.nextDouble() * 6.0 - 3.0,
+                1.0, 1.0, 1.0, 0, 1.0f);
+        }
+        PackedParticleArray packed = builder.build();
+        int size = packed.size();
+        float[] outX = new float[size];
+        float[] outY = new float[size];
+        float[] outZ = new float[size];
+        double[] expected = new double[3];
+
+        String[][] cases = new String[PRESETS.length + 2][];
+        for (int i = 0; i < PRESETS.length; i++) {
+            cases[i] = new String[] {PRESETS[i]};
+        }
+        cases[PRESETS.length] = new String[] {"rotate-xyz", "pulse", "bounce", "flow", "orbit"};
+        cases[PRESETS.length + 1] = PRESETS;
+
+        boolean allMatch = true;
+        System.out.println("Test Results:");
+        for (String[] names : cases) {
+            ParticleEffects.EffectSettings settings = EffectTransformTest.combine(names);
+            double maxError = 0.0;
+            for (long tick = 0; tick < 300; tick++) {
+                ParticleEffects.applyEffects(packed, settings, tick, outX, outY, outZ);
+                for (int i = 0; i < size; i++) {
+                    // The reference works from the same float-stored positions the kernel reads
+                    ParticleEffects.applyEffects(packed.getX(i), packed.getY(i), packed.getZ(i), settings, tick, expected);
+                    maxError = Math.max(maxError, Math.abs(expected[0] - outX[i]));
+                    maxError = Math.max(maxError, Math.abs(expected[1] - outY[i]));
+                    maxError = Math.max(maxError, Math.abs(expected[2] - outZ[i]));
+                }
+            }
+            // Outputs are floats; a few ulps at model scale
+            boolean match = maxError < 1.0E-5;
+            allMatch &= match;
+            System.out.println(String.join("+", names) + ": max error " + maxError + (match ? "" : "  MISMATCH"));
+        }
+        System.out.println("Batch kernel matches: " + allMatch);
+    }
+}
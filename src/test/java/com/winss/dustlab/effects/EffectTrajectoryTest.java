@@ -0,0 +1,79 @@
+package com.winss.dustlab.effects;
+
+import java.util.Random;
+
+//  Test class to verify tabled effect cycles replay what compiling each tick would give, within the seam tolerance
+public class EffectTrajectoryTest {
+
+    // Radians a cycle may be off per stage (EffectTrajectory.PHASE_TOLERANCE)
+    private static final double PHASE_TOLERANCE = 2.0E-3;
+    // Upper bound on how far a phase error moves a test point: radius 3 scaled by up to 1.4 * 1.4, plus amplitudes
+    private static final double LEVER = 3.0 * Math.sqrt(3.0) * 1.96 + 2.0 + 1.5 + 2.0 + 1.0;
+
+    private static final String[][] CASES = {
+        {"rotate"}, {"rotate-xyz"}, {"oscillate"}, {"pulse"}, {"bounce"}, {"flow"}, {"wave"}, {"orbit"}, {"spiral"},
+        {"rotate", "pulse"}, {"rotate-xyz", "bounce", "orbit"}, {"oscillate", "wave", "orbit"}, {"swirl"}
+    };
+
+    public static void main(String[] args) {
+        Random random = new Random(3L);
+        double[][] points = new double[32][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[] {random.nextDouble() * 6.0 - 3.0, random.nextDouble() * 6.0 - 3.0, random.nextDouble() * 6.0 - 3.0};
+        }
+
+        double[] expected = new double[3];
+        double[] actual = new double[3];
+        boolean allWithin = true;
+        System.out.println("Test Results:");
+        for (String[] names : CASES) {
+            ParticleEffects.EffectSettings settings = EffectTransformTest.combine(names);
+            EffectTrajectory trajectory = EffectTrajectory.of(settings);
+            String label = String.join("+", names);
+            if (trajectory == null) {
+                System.out.println(label + ": not tabled (period " + EffectTrajectory.detectPeriod(settings) + ")");
+                allWithin &= settings.swirlRadius > 0.0 || EffectTrajectory.detectPeriod(settings) < 0;
+                continue;
+            }
+            int period = trajectory.getPeriod();
+            int stages = activeStages(settings);
+            double worstRatio = 0.0;
+            double maxError = 0.0;
+            for (long tick = 0; tick < 3L * period; tick++) {
+                EffectTransform tabled = trajectory.transformAt(tick);
+                EffectTransform compiled = EffectTransform.compile(settings, tick);
+                // Each completed cycle may add up to the tolerance per stage
+                long cycles = tick / period;
+                double allowed = cycles * stages * PHASE_TOLERANCE * LEVER + 1.0E-9;
+                for (double[] p : points) {
+                    tabled.apply(p[0], p[1], p[2], actual);
+                    compiled.apply(p[0], p[1], p[2], expected);
+                    double error = Math.sqrt(square(expected[0] - actual[0]) + square(expected[1] - actual[1]) + square(expected[2] - actual[2]));
+                    maxError = Math.max(maxError, error);
+                    worstRatio = Math.max(worstRatio, error / allowed);
+                }
+            }
+            boolean within = worstRatio <= 1.0;
+            allWithin &= within;
+            System.out.println(label + ": period " + period + ", max error over 3 cycles " + maxError + (within ? "" : "  OUT OF TOLERANCE"));
+        }
+        System.out.println("All tabled cycles within tolerance: " + allWithin);
+    }
+
+    private static int activeStages(ParticleEffects.EffectSettings s) {
+        int count = 0;
+        if (s.rotationSpeed != 0.0) count++;
+        if (s.oscillationAmplitude > 0.0) count++;
+        if (s.pulseAmplitude > 0.0) count++;
+        if (s.bounceHeight > 0.0) count++;
+        if (s.flowAmplitude > 0.0) count++;
+        if (s.waveAmplitude > 0.0) count++;
+        if (s.orbitRadius > 0.0) count++;
+        if (s.spiralExpansion != 0.0) count++;
+        return count;
+    }
+
+    private static double square(double v) {
+        return v * v;
+    }
+}
@@ -0,0 +1,103 @@
+package com.winss.dustlab.effects;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+//  Test class to verify the compiled effect chain matches the per-particle effect maths stage for stage
+public class EffectTransformTest {
+
+    private static final String[] PRESETS = {
+        "rotate", "rotate-x", "rotate-z", "rotate-xyz", "oscillate", "pulse", "bounce",
+        "flow", "swirl", "wave", "orbit", "spiral"
+    };
+
+    public static void main(String[] args) {
+        Map<String, ParticleEffects.EffectSettings> cases = new LinkedHashMap<>();
+        for (String preset : PRESETS) {
+            cases.put(preset, ParticleEffects.EffectSettings.parseEffect(preset));
+        }
+        cases.put("affine chain", combine("rotate-xyz", "oscillate", "pulse", "bounce", "flow", "orbit"));
+        cases.put("orbit after swirl", combine("rotate", "swirl", "orbit"));
+        cases.put("orbit after wave", combine("pulse", "wave", "orbit", "spiral"));
+        cases.put("everything", combine(PRESETS));
+
+        Random random = new Random(42L);
+        double[][] points = new double[64][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[] {random.nextDouble() * 4.0 - 2.0, random.nextDouble() * 4.0 - 2.0, random.nextDouble() * 4.0 - 2.0};
+        }
+        points[0] = new double[] {0.0, 1.0, 0.0}; // on the axis, where swirl falls back to its radius
+
+        double[] expected = new double[3];
+        double[] actual = new double[3];
+        boolean allMatch = true;
+        System.out.println("Test Results:");
+        for (Map.Entry<String, ParticleEffects.EffectSettings> entry : cases.entrySet()) {
+            ParticleEffects.EffectSettings settings = entry.getValue();
+            double maxError = 0.0;
+            for (long tick = 0; tick < 400; tick++) {
+                EffectTransform transform = EffectTransform.compile(settings, tick);
+                for (double[] p : points) {
+                    ParticleEffects.applyEffects(p[0], p[1], p[2], settings, tick, expected);
+                    transform.apply(p[0], p[1], p[2], actual);
+                    for (int c = 0; c < 3; c++) {
+                        maxError = Math.max(maxError, Math.abs(expected[c] - actual[c]));
+                    }
+                }
+            }
+            boolean match = maxError < 1.0E-9;
+            allMatch &= match;
+            System.out.println(entry.getKey() + ": max error " + maxError + (match ? "" : "  MISMATCH"));
+        }
+        System.out.println("All presets match: " + allMatch);
+    }
+
+    // Settings with every stage of the named presets switched on
+    static ParticleEffects.EffectSettings combine(String... presets) {
+        ParticleEffects.EffectSettings combined = new ParticleEffects.EffectSettings();
+        combined.rotateY = false;
+        for (String preset : presets) {
+            ParticleEffects.EffectSettings s = ParticleEffects.EffectSettings.parseEffect(preset);
+            if (s.rotationSpeed != 0.0) {
+                combined.rotationSpeed = s.rotationSpeed;
+                combined.rotateX |= s.rotateX;
+                combined.rotateY |= s.rotateY;
+                combined.rotateZ |= s.rotateZ;
+            }
+            if (s.oscillationAmplitude > 0.0) {
+                combined.oscillationSpeed = s.oscillationSpeed;
+                combined.oscillationAmplitude = s.oscillationAmplitude;
+            }
+            if (s.pulseAmplitude > 0.0) {
+                combined.pulseSpeed = s.pulseSpeed;
+                combined.pulseAmplitude = s.pulseAmplitude;
+            }
+            if (s.bounceHeight > 0.0) {
+                combined.bounceSpeed = s.bounceSpeed;
+                combined.bounceHeight = s.bounceHeight;
+            }
+            if (s.flowAmplitude > 0.0) {
+                combined.flowSpeed = s.flowSpeed;
+                combined.flowAmplitude = s.flowAmplitude;
+            }
+            if (s.swirlRadius > 0.0) {
+                combined.swirlSpeed = s.swirlSpeed;
+                combined.swirlRadius = s.swirlRadius;
+            }
+            if (s.waveAmplitude > 0.0) {
+                combined.waveSpeed = s.waveSpeed;
+                combined.waveAmplitude = s.waveAmplitude;
+            }
+            if (s.orbitRadius > 0.0) {
+                combined.orbitSpeed = s.orbitSpeed;
+                combined.orbitRadius = s.orbitRadius;
+            }
+            if (s.spiralExpansion != 0.0) {
+                combined.spiralSpeed = s.spiralSpeed;
+                combined.spiralExpansion = s.spiralExpansion;
+            }
+        }
+        return combined;
+    }
+}
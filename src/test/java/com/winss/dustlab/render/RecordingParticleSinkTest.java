@@ -0,0 +1,176 @@
+package com.winss.dustlab.render;
+
+import com.winss.dustlab.packed.DelayIndex;
+import com.winss.dustlab.packed.PackedParticleArray;
+import org.bukkit.Particle;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+//  Test class to measure static-model emission headlessly: the manager's schedule and DustEmitter, into the recording sink
+public class RecordingParticleSinkTest {
+
+    private static final int SIZE = 1200;
+    private static final int VIEWERS = 3;
+    // An infinite effect with the shortest loop, run across several wraps
+    private static final int LIFETIME_SECONDS = -1;
+    private static final int MAX_TICKS = 100;
+    private static final int TICKS = 400;
+
+    public static void main(String[] args) {
+        PackedParticleArray.Builder builder = PackedParticleArray.builder(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            // Half the model appears at once, the rest trickles in over 40 ticks
+            int delay = i < SIZE / 2 ? 0 : (i - SIZE / 2) / 15;
+            builder.add(i, 0.0, 0.0, 0.2, 0.4, 0.8, delay, i % 3 == 0 ? 1.0f : 1.5f);
+        }
+        PackedParticleArray packed = builder.build();
+        // Same cadence the manager picks for a static model without effects
+        int refresh = ClientLifetime.dustRefreshTicks(packed.getPalette().getMinScale());
+
+        List<Player> viewers = new ArrayList<>();
+        for (int v = 0; v < VIEWERS; v++) {
+            viewers.add(viewer(new UUID(0L, v)));
+        }
+
+        System.out.println("Test Results:");
+        System.out.println("Refresh interval: " + refresh + " ticks (min scale " + packed.getPalette().getMinScale() + ")");
+
+        Run full = run(packed, refresh, viewers, Integer.MAX_VALUE);
+        double ideal = (double) SIZE / refresh;
+        System.out.println("Unbudgeted: loop wraps crossed: " + full.wraps);
+        System.out.println("Unbudgeted: every particle sent: " + (full.neverSent == 0));
+        System.out.println("Unbudgeted: longest re-send gap within refresh: " + (full.maxGap <= refresh) + " (" + full.maxGap + ")");
+        System.out.println("Unbudgeted: steady particles per tick: " + full.steadyMin + ".." + full.steadyMax + " (ideal " + (SIZE / refresh) + ")");
+        System.out.println("Unbudgeted: even spread (within 5%): " + (full.steadyMin >= ideal * 0.95 && full.steadyMax <= ideal * 1.05));
+        System.out.println("Unbudgeted: packets are particles times viewers: " + full.packetsMatch);
+        System.out.println("Unbudgeted: sent as plain dust at " + PacketCost.DUST_BYTES + " bytes: " + full.plainDust);
+        System.out.println("Unbudgeted: peak particles per tick: " + full.peakPerTick + " of " + SIZE);
+
+        // Half of what the model needs in steady state, in packets
+        int perTick = (int) (ideal * VIEWERS / 2);
+        Run budgeted = run(packed, refresh, viewers, perTick);
+        System.out.println("Budget " + perTick + ": peak packets per tick within budget: " + (budgeted.peakPackets <= perTick) + " (" + budgeted.peakPackets + ")");
+        System.out.println("Budget " + perTick + ": every particle still sent: " + (budgeted.neverSent == 0));
+        System.out.println("Budget " + perTick + ": packets are particles times viewers: " + budgeted.packetsMatch);
+    }
+
+    private static final class Run {
+        int wraps;
+        int neverSent;
+        int maxGap;
+        int peakPerTick;
+        long peakPackets;
+        int steadyMin = Integer.MAX_VALUE;
+        int steadyMax;
+        boolean packetsMatch = true;
+        boolean plainDust = true;
+    }
+
+    // Mirrors the manager's static packed path: emit tick, due prefix of the phase group, budget rotation, one emit per particle
+    private static Run run(PackedParticleArray packed, int refresh, List<Player> viewers, int perTick) {
+        ParticleBudget particleBudget = new ParticleBudget();
+        particleBudget.configure(perTick != Integer.MAX_VALUE, perTick, 0);
+        ViewerBudget viewerBudget = new ViewerBudget();
+        viewerBudget.configure(false, 0, 0, 1.0);
+        EmissionStats stats = new EmissionStats();
+        DustEmitter emitter = new DustEmitter(particleBudget, viewerBudget, stats);
+        emitter.configure(false, true);
+        RecordingParticleSink sink = new RecordingParticleSink(SIZE * 4);
+        emitter.setSink(sink);
+        DelayIndex delayIndex = packed.delayIndex(refresh);
+
+        Run run = new Run();
+        int[] lastSent = new int[SIZE];
+        Arrays.fill(lastSent, -1);
+        boolean[] everSent = new boolean[SIZE];
+        int previousEmitTick = -1;
+        for (int tick = 0; tick < TICKS; tick++) {
+            particleBudget.beginTick();
+            viewerBudget.beginTick();
+            stats.beginTick();
+            sink.reset();
+            int emitTick = ClientLifetime.staticEmitTick(tick, LIFETIME_SECONDS, MAX_TICKS, refresh);
+            if (emitTick < previousEmitTick) {
+                run.wraps++;
+            }
+            previousEmitTick = emitTick;
+            // A particle whose delay restarts with the loop is not standing, so its gap starts over
+            for (int i = 0; i < SIZE; i++) {
+                if (packed.getDelay(i) > emitTick) {
+                    lastSent[i] = -1;
+                }
+            }
+
+            particleBudget.open(1.0);
+            int[] due = delayIndex.indicesFor(emitTick);
+            int ready = delayIndex.readyCount(emitTick);
+            int rotation = particleBudget.rotationStart(tick, ready);
+            for (int n = 0; n < ready; n++) {
+                if (particleBudget.isExhausted()) break;
+                int k = n + rotation;
+                if (k >= ready) k -= ready;
+                int i = due[k];
+                emitter.emit(viewers, null, 0, null, packed.getX(i), packed.getY(i), packed.getZ(i),
+                    packed.getDustOptions(i), packed.getDustTransition(i), 1, 0.0, 0.0, 0.0, 0.0, false, ViewerBudget.Priority.NORMAL);
+            }
+            particleBudget.close();
+
+            int sent = (int) sink.getParticles();
+            run.peakPerTick = Math.max(run.peakPerTick, sent);
+            run.peakPackets = Math.max(run.peakPackets, sink.getPackets());
+            if (emitTick >= 40 + refresh) {
+                run.steadyMin = Math.min(run.steadyMin, sent);
+                run.steadyMax = Math.max(run.steadyMax, sent);
+            }
+            if (sink.getPackets() != (long) sent * viewers.size()) {
+                run.packetsMatch = false;
+            }
+            if (sink.getPackets(Particle.REDSTONE) != sink.getPackets()) {
+                run.plainDust = false;
+            }
+            for (RecordingParticleSink.Spawn spawn : sink.getSpawns()) {
+                int i = (int) spawn.x();
+                if (lastSent[i] >= 0) {
+                    run.maxGap = Math.max(run.maxGap, tick - lastSent[i]);
+                }
+                lastSent[i] = tick;
+                everSent[i] = true;
+            }
+        }
+        // The last tick's packets roll into the stats' last-tick counters on the next tick
+        stats.beginTick();
+        if (stats.getLastTickBytes() != stats.getLastTickPackets() * PacketCost.DUST_BYTES) {
+            run.plainDust = false;
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            if (!everSent[i]) {
+                run.neverSent++;
+            }
+        }
+        return run;
+    }
+
+    // Players only need an identity here: the sink records them and the viewer budget keys on their UUID
+    private static Player viewer(UUID id) {
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[] {Player.class}, (proxy, method, methodArgs) -> {
+            switch (method.getName()) {
+                case "getUniqueId":
+                    return id;
+                case "hashCode":
+                    return id.hashCode();
+                case "equals":
+                    return proxy == methodArgs[0];
+                case "toString":
+                    return "Viewer " + id;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}